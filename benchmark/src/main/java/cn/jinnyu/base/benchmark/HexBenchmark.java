@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.benchmark;
+
+import cn.jinnyu.base.codec.CodecKit;
+import com.google.common.io.BaseEncoding;
+import org.apache.commons.codec.binary.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CodecKit#byte2hex(byte[])}与 Guava, commons-codec 的十六进制编码对比
+ * <p>
+ * 带 {@code Vector} 后缀的方法在启用 {@code jdk.incubator.vector} 模块的JVM中运行, 需要 JDK 17+,
+ * 用于对比多版本jar中 Vector API 实现与默认查表实现的差异.
+ * </p>
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HexBenchmark {
+
+    private static final String VECTOR_MODULE = "--add-modules=jdk.incubator.vector";
+
+    @Param({"16", "256", "4096", "65536"})
+    private int size;
+
+    private byte[] bytes;
+    private char[] chars;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        chars = new char[size * 2];
+    }
+
+    @Benchmark
+    public String byte2hex() {
+        return CodecKit.byte2hex(bytes);
+    }
+
+    @Benchmark
+    public char[] byte2hexChars() {
+        CodecKit.byte2hex(bytes, 0, bytes.length, chars, 0, true);
+        return chars;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR_MODULE)
+    public String byte2hexVector() {
+        return CodecKit.byte2hex(bytes);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR_MODULE)
+    public char[] byte2hexCharsVector() {
+        CodecKit.byte2hex(bytes, 0, bytes.length, chars, 0, true);
+        return chars;
+    }
+
+    @Benchmark
+    public String guava() {
+        return BaseEncoding.base16().encode(bytes);
+    }
+
+    @Benchmark
+    public String commonsCodec() {
+        return Hex.encodeHexString(bytes, false);
+    }
+
+}
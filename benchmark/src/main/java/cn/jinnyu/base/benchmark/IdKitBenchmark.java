@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.benchmark;
+
+import cn.jinnyu.base.id.IdKit;
+import cn.jinnyu.base.id.SegmentId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link IdKit#getId(IdKit.Type)} 各类型的吞吐量, 线程数通过 {@code -t} 指定
+ * <p>
+ * 号段模式使用临时水位线文件, 不会修改默认的水位线文件.
+ * </p>
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdKitBenchmark {
+
+    /**
+     * 不指定取值时覆盖{@link IdKit.Type}的全部类型
+     */
+    @Param
+    private IdKit.Type type;
+    private Path       segmentFile;
+    private SegmentId  segmentId;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        segmentFile = Files.createTempFile("benchmark-segment", ".id");
+        segmentId = new SegmentId(segmentFile);
+        IdKit.setSegmentId(segmentId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        segmentId.close();
+        Files.deleteIfExists(segmentFile);
+    }
+
+    @Benchmark
+    public String getId() {
+        return IdKit.getId(type);
+    }
+
+}
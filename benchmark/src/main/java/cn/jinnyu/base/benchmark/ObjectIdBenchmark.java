@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.benchmark;
+
+import cn.jinnyu.base.id.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ObjectId}的生成, 十六进制编码与解析
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ObjectIdBenchmark {
+
+    private ObjectId objectId;
+    private String   hexString;
+    private char[]   chars;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        objectId = ObjectId.get();
+        hexString = objectId.toHexString();
+        chars = new char[hexString.length()];
+    }
+
+    @Benchmark
+    public ObjectId get() {
+        return ObjectId.get();
+    }
+
+    @Benchmark
+    public ObjectId getStriped() {
+        return ObjectId.getStriped();
+    }
+
+    @Benchmark
+    public String toHexString() {
+        return objectId.toHexString();
+    }
+
+    @Benchmark
+    public char[] writeHex() {
+        objectId.writeHex(chars, 0);
+        return chars;
+    }
+
+    @Benchmark
+    public ObjectId parse() {
+        return ObjectId.parse(hexString);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return ObjectId.isValid(hexString);
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.benchmark;
+
+import cn.jinnyu.base.id.SnowFlake;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多线程竞争同一个{@link SnowFlake}实例时{@link SnowFlake#nextId()}的吞吐量
+ * <p>
+ * 默认位布局下单个实例每毫秒最多生成4096个ID, 接近该上限时测得的是序列号耗尽后的等待开销.
+ * </p>
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnowFlakeBenchmark {
+
+    @Param({"false", "true"})
+    private boolean   lockFree;
+    private SnowFlake snowFlake;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        snowFlake = SnowFlake.builder().workerId(1).lockFree(lockFree).build();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long nextId1() {
+        return snowFlake.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long nextId4() {
+        return snowFlake.nextId();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long nextId16() {
+        return snowFlake.nextId();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long nextId64() {
+        return snowFlake.nextId();
+    }
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.codec;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 按定长分组处理的编解码器, 供流式编解码使用
+ * <p>
+ * 每次处理整数个分组, 数据结束时由{@link #finish(byte[], int, int, byte[], int)}处理不足一个分组的剩余部分.
+ * </p>
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+abstract class BlockCodec {
+
+    static final BlockCodec HEX_UPPER_ENCODER = new HexEncoder("0123456789ABCDEF");
+    static final BlockCodec HEX_LOWER_ENCODER = new HexEncoder("0123456789abcdef");
+    static final BlockCodec HEX_DECODER       = new HexDecoder();
+    static final BlockCodec BASE32_ENCODER    = new Base32Encoder();
+    static final BlockCodec BASE32_DECODER    = new Base32Decoder();
+
+    /**
+     * 与{@code cn.jinnyu.base.totp.Base32}相同的字母表 (不含 I/O/0/1), 不填充
+     */
+    private static final byte[] BASE32_CHARS      = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BASE32_VALUES     = new byte[128];
+    /**
+     * Base32 剩余字节数(下标)对应的字符数, 以及剩余字符数(下标)对应的字节数 (-1 为非法长度)
+     */
+    private static final int[]  BASE32_TAIL_CHARS = { 0, 2, 4, 5, 7 };
+    private static final int[]  BASE32_TAIL_BYTES = { 0, -1, 1, -1, 2, 3, -1, 4 };
+
+    static {
+        Arrays.fill(BASE32_VALUES, (byte) -1);
+        for (int i = 0; i < BASE32_CHARS.length; i++) {
+            BASE32_VALUES[BASE32_CHARS[i]] = (byte) i;
+            BASE32_VALUES[Character.toLowerCase(BASE32_CHARS[i])] = (byte) i;
+        }
+    }
+
+    /**
+     * 输入与输出分组的字节数
+     */
+    final int inBlock;
+    final int outBlock;
+
+    BlockCodec(int inBlock, int outBlock) {
+        this.inBlock = inBlock;
+        this.outBlock = outBlock;
+    }
+
+    /**
+     * @param chunkSize 缓冲区大小
+     * @return 输入与输出均不超过缓冲区大小时, 一次可处理的分组数
+     */
+    int blocksPerChunk(int chunkSize) {
+        return chunkSize / Math.max(inBlock, outBlock);
+    }
+
+    /**
+     * 处理整数个分组
+     *
+     * @param src       输入
+     * @param srcOffset 输入的起始位置
+     * @param blocks    分组数
+     * @param dst       输出, 需要至少 blocks * outBlock 的剩余空间
+     * @param dstOffset 输出的起始位置
+     * @throws IOException 输入不合法时抛出
+     */
+    abstract void transform(byte[] src, int srcOffset, int blocks, byte[] dst, int dstOffset) throws IOException;
+
+    /**
+     * 处理数据结尾不足一个分组的剩余部分
+     *
+     * @param src       输入
+     * @param srcOffset 输入的起始位置
+     * @param length    剩余字节数, 小于 inBlock
+     * @param dst       输出, 需要至少 outBlock 的剩余空间
+     * @param dstOffset 输出的起始位置
+     * @return 输出的字节数
+     * @throws IOException 输入不合法时抛出
+     */
+    abstract int finish(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset) throws IOException;
+
+    private static final class HexEncoder extends BlockCodec {
+
+        private final byte[] digits;
+
+        private HexEncoder(String digits) {
+            super(1, 2);
+            this.digits = digits.getBytes(StandardCharsets.US_ASCII);
+        }
+
+        @Override
+        void transform(byte[] src, int srcOffset, int blocks, byte[] dst, int dstOffset) {
+            for (int i = srcOffset, end = srcOffset + blocks, j = dstOffset; i < end; i++) {
+                int v = src[i] & 0xFF;
+                dst[j++] = digits[v >>> 4];
+                dst[j++] = digits[v & 0xF];
+            }
+        }
+
+        @Override
+        int finish(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset) {
+            return 0;
+        }
+
+    }
+
+    private static final class HexDecoder extends BlockCodec {
+
+        private HexDecoder() {
+            super(2, 1);
+        }
+
+        @Override
+        void transform(byte[] src, int srcOffset, int blocks, byte[] dst, int dstOffset) throws IOException {
+            int invalid = 0;
+            for (int i = srcOffset, j = dstOffset, end = dstOffset + blocks; j < end; i += 2) {
+                int high = CodecKit.hexValue(src[i]);
+                int low  = CodecKit.hexValue(src[i + 1]);
+                invalid |= high | low;
+                dst[j++] = (byte) (high << 4 | low);
+            }
+            if (invalid < 0) {
+                throw new IOException("Invalid hex char in input");
+            }
+        }
+
+        @Override
+        int finish(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset) throws IOException {
+            if (length != 0) {
+                throw new IOException("Hex input length can't be odd");
+            }
+            return 0;
+        }
+
+    }
+
+    private static final class Base32Encoder extends BlockCodec {
+
+        private Base32Encoder() {
+            super(5, 8);
+        }
+
+        @Override
+        void transform(byte[] src, int srcOffset, int blocks, byte[] dst, int dstOffset) {
+            for (int i = srcOffset, j = dstOffset, end = dstOffset + (blocks << 3); j < end; i += 5) {
+                long pack = (src[i] & 0xFFL) << 32 | (src[i + 1] & 0xFFL) << 24 | (src[i + 2] & 0xFFL) << 16 | (src[i + 3] & 0xFFL) << 8 | src[i + 4] & 0xFFL;
+                for (int shift = 35; shift >= 0; shift -= 5) {
+                    dst[j++] = BASE32_CHARS[(int) (pack >>> shift) & 0x1F];
+                }
+            }
+        }
+
+        @Override
+        int finish(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset) {
+            if (length == 0) {
+                return 0;
+            }
+            byte[] block = new byte[5];
+            System.arraycopy(src, srcOffset, block, 0, length);
+            byte[] chars = new byte[8];
+            transform(block, 0, 1, chars, 0);
+            int count = BASE32_TAIL_CHARS[length];
+            System.arraycopy(chars, 0, dst, dstOffset, count);
+            return count;
+        }
+
+    }
+
+    private static final class Base32Decoder extends BlockCodec {
+
+        private Base32Decoder() {
+            super(8, 5);
+        }
+
+        @Override
+        void transform(byte[] src, int srcOffset, int blocks, byte[] dst, int dstOffset) throws IOException {
+            int invalid = 0;
+            for (int i = srcOffset, j = dstOffset, end = dstOffset + blocks * 5; j < end; ) {
+                long pack = 0L;
+                for (int k = 0; k < 8; k++) {
+                    int v = value(src[i++]);
+                    invalid |= v;
+                    pack = pack << 5 | v & 0x1F;
+                }
+                dst[j++] = (byte) (pack >>> 32);
+                dst[j++] = (byte) (pack >>> 24);
+                dst[j++] = (byte) (pack >>> 16);
+                dst[j++] = (byte) (pack >>> 8);
+                dst[j++] = (byte) pack;
+            }
+            if (invalid < 0) {
+                throw new IOException("Invalid base32 char in input");
+            }
+        }
+
+        @Override
+        int finish(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset) throws IOException {
+            int count = BASE32_TAIL_BYTES[length];
+            if (count < 0) {
+                throw new IOException("Invalid base32 input length, trailing chars: " + length);
+            }
+            if (count == 0) {
+                return 0;
+            }
+            // 以值为0的字符补齐一个分组
+            byte[] block = new byte[8];
+            Arrays.fill(block, BASE32_CHARS[0]);
+            System.arraycopy(src, srcOffset, block, 0, length);
+            byte[] bytes = new byte[5];
+            transform(block, 0, 1, bytes, 0);
+            System.arraycopy(bytes, 0, dst, dstOffset, count);
+            return count;
+        }
+
+        private static int value(byte c) {
+            return c >= 0 ? BASE32_VALUES[c] : -1;
+        }
+
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.codec;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * 流式编解码使用的定长缓冲区池
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+final class ChunkPool {
+
+    /**
+     * 缓冲区大小
+     */
+    static final int CHUNK_SIZE = 8192;
+
+    private static final int                        MAX_POOLED = 64;
+    private static final ArrayBlockingQueue<byte[]> POOL       = new ArrayBlockingQueue<>(MAX_POOLED);
+
+    private ChunkPool() {
+    }
+
+    static byte[] acquire() {
+        byte[] chunk = POOL.poll();
+        return chunk != null ? chunk : new byte[CHUNK_SIZE];
+    }
+
+    /**
+     * 归还缓冲区, 池已满时丢弃
+     */
+    static void release(byte[] chunk) {
+        POOL.offer(chunk);
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.codec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * 写入时编解码的通道, 关闭时处理剩余数据并关闭底层通道
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+final class CodecChannel implements WritableByteChannel {
+
+    private final WritableByteChannel channel;
+    private final BlockCodec          codec;
+    private final int                 capacity;
+    private       byte[]              input;
+    private       byte[]              output;
+    private       int                 pending;
+    private       boolean             closed;
+
+    CodecChannel(WritableByteChannel channel, BlockCodec codec) {
+        this.channel = channel;
+        this.codec = codec;
+        this.capacity = codec.blocksPerChunk(ChunkPool.CHUNK_SIZE) * codec.inBlock;
+        this.input = ChunkPool.acquire();
+        this.output = ChunkPool.acquire();
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        if (closed) {
+            throw new ClosedChannelException();
+        }
+        int written = src.remaining();
+        while (src.hasRemaining()) {
+            int count = Math.min(src.remaining(), capacity - pending);
+            src.get(input, pending, count);
+            pending += count;
+            if (pending == capacity) {
+                drain();
+            }
+        }
+        return written;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            drain();
+            writeFully(codec.finish(input, 0, pending, output, 0));
+        } finally {
+            ChunkPool.release(input);
+            ChunkPool.release(output);
+            input = null;
+            output = null;
+            channel.close();
+        }
+    }
+
+    private void drain() throws IOException {
+        int blocks = pending / codec.inBlock;
+        if (blocks == 0) {
+            return;
+        }
+        codec.transform(input, 0, blocks, output, 0);
+        writeFully(blocks * codec.outBlock);
+        int consumed = blocks * codec.inBlock;
+        pending -= consumed;
+        System.arraycopy(input, consumed, input, 0, pending);
+    }
+
+    private void writeFully(int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(output, 0, length);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+}
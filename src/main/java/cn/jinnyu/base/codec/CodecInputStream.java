@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.codec;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 读取时编解码的输入流
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+final class CodecInputStream extends FilterInputStream {
+
+    private final BlockCodec codec;
+    private final int        capacity;
+    private       byte[]     input;
+    private       byte[]     output;
+    /**
+     * input中尚未处理的字节数
+     */
+    private       int        pending;
+    private       int        position;
+    private       int        limit;
+    private       boolean    eof;
+    private       boolean    finished;
+    private       boolean    closed;
+
+    CodecInputStream(InputStream in, BlockCodec codec) {
+        super(in);
+        this.codec = codec;
+        this.capacity = codec.blocksPerChunk(ChunkPool.CHUNK_SIZE) * codec.inBlock;
+        this.input = ChunkPool.acquire();
+        this.output = ChunkPool.acquire();
+    }
+
+    @Override
+    public int read() throws IOException {
+        ensureOpen();
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return output[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off > b.length - len) {
+            throw new IndexOutOfBoundsException("Offset: " + off + ", length: " + len + ", array length: " + b.length);
+        }
+        ensureOpen();
+        if (len == 0) {
+            return 0;
+        }
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        int count = Math.min(len, limit - position);
+        System.arraycopy(output, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && (position < limit || fill())) {
+            int count = (int) Math.min(n - skipped, limit - position);
+            position += count;
+            skipped += count;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        return limit - position;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("Mark/reset not supported");
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        position = 0;
+        limit = 0;
+        try {
+            in.close();
+        } finally {
+            ChunkPool.release(input);
+            ChunkPool.release(output);
+            input = null;
+            output = null;
+        }
+    }
+
+    /**
+     * 读取并处理下一批数据
+     *
+     * @return 是否还有输出
+     */
+    private boolean fill() throws IOException {
+        ensureOpen();
+        while (position == limit) {
+            if (eof) {
+                if (finished) {
+                    return false;
+                }
+                finished = true;
+                limit = codec.finish(input, 0, pending, output, 0);
+                position = 0;
+                pending = 0;
+                continue;
+            }
+            int read = in.read(input, pending, capacity - pending);
+            if (read < 0) {
+                eof = true;
+                continue;
+            }
+            pending += read;
+            int blocks = pending / codec.inBlock;
+            if (blocks > 0) {
+                codec.transform(input, 0, blocks, output, 0);
+                int consumed = blocks * codec.inBlock;
+                pending -= consumed;
+                System.arraycopy(input, consumed, input, 0, pending);
+                position = 0;
+                limit = blocks * codec.outBlock;
+            }
+        }
+        return true;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+}
@@ -15,7 +15,11 @@
  */
 package cn.jinnyu.base.codec;
 
-import java.util.stream.IntStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 /**
  * @author jinyu@jinnyu.cn
@@ -36,9 +40,41 @@ public enum CodecKit {
             'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H', 'I', 'J', 'K', 'L', 'M', 'N', 'O', 'P', 'Q', 'R', 'S', 'T', 'U', 'V', 'W', 'X', 'Y', 'Z'
     };
     // @formatter:on
+    /**
+     * 十六进制字符
+     */
+    private static final char[] HEX_UPPER        = "0123456789ABCDEF".toCharArray();
+    private static final char[] HEX_LOWER        = "0123456789abcdef".toCharArray();
+    /**
+     * 写入{@link Appendable}时的分块大小(字符数)
+     */
+    private static final int    HEX_CHUNK_CHARS  = 512;
+    /**
+     * ASCII字符对应的十六进制数值, 非十六进制字符为-1
+     */
+    private static final byte[] HEX_VALUES       = new byte[128];
+    /**
+     * ASCII字符在digits中的下标, 不在digits中的字符为0
+     */
+    private static final byte[] DIGIT_VALUES     = new byte[128];
+    /**
+     * long的LEB128编码最多占用的字节数
+     */
+    private static final int    VARINT_MAX_BYTES = 10;
+
+    static {
+        for (int i = 0; i < digits.length; i++) {
+            DIGIT_VALUES[digits[i]] = (byte) i;
+        }
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            HEX_VALUES[HEX_UPPER[i]] = (byte) i;
+            HEX_VALUES[HEX_LOWER[i]] = (byte) i;
+        }
+    }
 
     /**
-     * 将十进制的数字转换为指定进制的字符串
+     * 将十进制的数字转换为指定进制的字符串, 负数按32位无符号数处理. 任意64位无符号数的编解码参见{@link Radix}
      *
      * @param number 十进制数字
      * @param bit    进制数
@@ -48,14 +84,15 @@ public enum CodecKit {
         if (number < 0) {
             number = ((long) 2 * 0x7fffffff) + number + 2;
         }
-        char[] buf     = new char[32];
-        int    charPos = 32;
+        // 二进制的非负long最多63位
+        char[] buf     = new char[Long.SIZE];
+        int    charPos = buf.length;
         while ((number / bit) > 0) {
             buf[--charPos] = digits[(int) (number % bit)];
             number /= bit;
         }
         buf[--charPos] = digits[(int) (number % bit)];
-        return new String(buf, charPos, (32 - charPos));
+        return new String(buf, charPos, (buf.length - charPos));
     }
 
     /**
@@ -66,19 +103,14 @@ public enum CodecKit {
      * @return 十进制的数字
      */
     public static long toDecimalNumber(String number, int bit) {
-        char[] charBuf = number.toCharArray();
         if (bit == 10) {
             return Long.parseLong(number);
         }
         long result = 0, base = 1;
-        for (int i = charBuf.length - 1; i >= 0; i--) {
-            int index = 0;
-            for (int j = 0, length = digits.length; j < length; j++) {
-                // 找到对应字符的下标, 对应的下标才是具体的数值
-                if (digits[j] == charBuf[i]) {
-                    index = j;
-                }
-            }
+        for (int i = number.length() - 1; i >= 0; i--) {
+            // 对应字符的下标才是具体的数值
+            char c     = number.charAt(i);
+            int  index = c < 128 ? DIGIT_VALUES[c] : 0;
             result += index * base;
             base *= bit;
         }
@@ -86,40 +118,455 @@ public enum CodecKit {
     }
 
     /**
-     * 将2进制转换成16进制
+     * 将2进制转换成16进制(大写)
      *
      * @param bytes byte数组
      * @return 16进制数据
      */
     public static String byte2hex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            String hex = Integer.toHexString(b & 0xFF);
-            if (hex.length() == 1) {
-                hex = '0' + hex;
+        return byte2hex(bytes, true);
+    }
+
+    /**
+     * 将2进制转换成16进制
+     *
+     * @param bytes     byte数组
+     * @param upperCase 是否使用大写字母
+     * @return 16进制数据
+     */
+    public static String byte2hex(byte[] bytes, boolean upperCase) {
+        char[] chars = new char[bytes.length << 1];
+        byte2hex(bytes, 0, bytes.length, chars, 0, upperCase);
+        return new String(chars);
+    }
+
+    /**
+     * 将byte数组的指定范围转换为16进制并写入目标数组
+     *
+     * @param src       byte数组
+     * @param offset    起始位置
+     * @param length    字节数
+     * @param dst       目标数组, 需要至少 length * 2 的剩余空间
+     * @param dstOffset 写入的起始位置
+     * @param upperCase 是否使用大写字母
+     * @return 写入的字符数
+     */
+    public static int byte2hex(byte[] src, int offset, int length, char[] dst, int dstOffset, boolean upperCase) {
+        if (offset < 0 || length < 0 || offset > src.length - length) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", length: " + length + ", array length: " + src.length);
+        }
+        if (dstOffset < 0 || dstOffset > dst.length - (length << 1)) {
+            throw new IndexOutOfBoundsException("Destination offset: " + dstOffset + ", length: " + (length << 1) + ", array length: " + dst.length);
+        }
+        HexKernel.encode(src, offset, length, dst, dstOffset, upperCase);
+        return length << 1;
+    }
+
+    /**
+     * 将缓冲区的剩余字节转换为16进制并写入目标数组, 缓冲区的position移动到limit
+     *
+     * @param src       缓冲区
+     * @param dst       目标数组, 需要至少 remaining * 2 的剩余空间
+     * @param dstOffset 写入的起始位置
+     * @param upperCase 是否使用大写字母
+     * @return 写入的字符数
+     */
+    public static int byte2hex(ByteBuffer src, char[] dst, int dstOffset, boolean upperCase) {
+        int length = src.remaining();
+        if (dstOffset < 0 || dstOffset > dst.length - (length << 1)) {
+            throw new IndexOutOfBoundsException("Destination offset: " + dstOffset + ", length: " + (length << 1) + ", array length: " + dst.length);
+        }
+        if (src.hasArray()) {
+            HexKernel.encode(src.array(), src.arrayOffset() + src.position(), length, dst, dstOffset, upperCase);
+            src.position(src.limit());
+        } else {
+            char[] digits = upperCase ? HEX_UPPER : HEX_LOWER;
+            for (int i = dstOffset, end = dstOffset + (length << 1); i < end; i += 2) {
+                int v = src.get() & 0xFF;
+                dst[i] = digits[v >>> 4];
+                dst[i + 1] = digits[v & 0xF];
             }
-            sb.append(hex.toUpperCase());
         }
-        return sb.toString();
+        return length << 1;
     }
 
     /**
-     * 将16进制转换为2进制
+     * 将byte数组的指定范围转换为16进制并追加到目标中, 不创建中间字符串
+     *
+     * @param src       byte数组
+     * @param offset    起始位置
+     * @param length    字节数
+     * @param out       目标, 如{@link StringBuilder}或{@link Writer}
+     * @param upperCase 是否使用大写字母
+     * @throws IOException 写入目标失败时抛出
+     */
+    public static void byte2hex(byte[] src, int offset, int length, Appendable out, boolean upperCase) throws IOException {
+        if (offset < 0 || length < 0 || offset > src.length - length) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", length: " + length + ", array length: " + src.length);
+        }
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).ensureCapacity(((StringBuilder) out).length() + (length << 1));
+        }
+        char[] chunk = new char[Math.min(length << 1, HEX_CHUNK_CHARS)];
+        for (int end = offset + length; offset < end; ) {
+            int count = Math.min(end - offset, chunk.length >> 1);
+            HexKernel.encode(src, offset, count, chunk, 0, upperCase);
+            append(out, chunk, count << 1);
+            offset += count;
+        }
+    }
+
+    /**
+     * 将缓冲区的剩余字节转换为16进制并追加到目标中, 缓冲区的position移动到limit
+     *
+     * @param src       缓冲区
+     * @param out       目标, 如{@link StringBuilder}或{@link Writer}
+     * @param upperCase 是否使用大写字母
+     * @throws IOException 写入目标失败时抛出
+     */
+    public static void byte2hex(ByteBuffer src, Appendable out, boolean upperCase) throws IOException {
+        if (src.hasArray()) {
+            byte2hex(src.array(), src.arrayOffset() + src.position(), src.remaining(), out, upperCase);
+            src.position(src.limit());
+            return;
+        }
+        char[] digits = upperCase ? HEX_UPPER : HEX_LOWER;
+        char[] chunk  = new char[Math.min(src.remaining() << 1, HEX_CHUNK_CHARS)];
+        while (src.hasRemaining()) {
+            int count = Math.min(src.remaining() << 1, chunk.length);
+            for (int i = 0; i < count; i += 2) {
+                int v = src.get() & 0xFF;
+                chunk[i] = digits[v >>> 4];
+                chunk[i + 1] = digits[v & 0xF];
+            }
+            append(out, chunk, count);
+        }
+    }
+
+    private static void append(Appendable out, char[] chars, int length) throws IOException {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(chars, 0, length);
+        } else if (out instanceof Writer) {
+            ((Writer) out).write(chars, 0, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                out.append(chars[i]);
+            }
+        }
+    }
+
+    /**
+     * 将16进制转换为2进制, 不区分大小写. 长度为奇数时忽略最后一个字符
      *
      * @param hex 16进制数据
-     * @return 2进制数据
+     * @return 2进制数据, 空字符串返回null
+     * @throws NumberFormatException 包含非十六进制字符时抛出
      */
     public static byte[] hex2byte(String hex) {
         if (hex.length() < 1) {
             return null;
         }
         byte[] result = new byte[hex.length() / 2];
-        IntStream.range(0, hex.length() / 2).forEachOrdered(i -> {
-            int high = Integer.parseInt(hex.substring(i * 2, i * 2 + 1), 16);
-            int low  = Integer.parseInt(hex.substring(i * 2 + 1, i * 2 + 2), 16);
-            result[i] = (byte) (high * 16 + low);
-        });
+        if (hex2byte(hex, 0, result.length << 1, result, 0) < 0) {
+            throw new NumberFormatException("Invalid hex string: [" + hex + "]");
+        }
         return result;
     }
 
+    /**
+     * 将16进制字符转换为2进制并写入目标数组, 不区分大小写
+     *
+     * @param src       16进制数据
+     * @param offset    起始位置
+     * @param length    字符数
+     * @param dst       目标数组, 需要至少 length / 2 的剩余空间
+     * @param dstOffset 写入的起始位置
+     * @return 写入的字节数, 长度为奇数或包含非十六进制字符时返回-1, 此时目标数组的内容不确定
+     */
+    public static int hex2byte(CharSequence src, int offset, int length, byte[] dst, int dstOffset) {
+        if (offset < 0 || length < 0 || offset > src.length() - length) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", length: " + length + ", sequence length: " + src.length());
+        }
+        if ((length & 1) != 0) {
+            return -1;
+        }
+        checkHexDestination(dst, dstOffset, length >> 1);
+        int invalid = 0;
+        for (int i = offset, end = offset + length, j = dstOffset; i < end; i += 2) {
+            int high = hexValue(src.charAt(i));
+            int low  = hexValue(src.charAt(i + 1));
+            invalid |= high | low;
+            dst[j++] = (byte) (high << 4 | low);
+        }
+        return invalid < 0 ? -1 : length >> 1;
+    }
+
+    /**
+     * 将16进制字符转换为2进制并写入目标数组, 不区分大小写
+     *
+     * @param src       16进制数据
+     * @param offset    起始位置
+     * @param length    字符数
+     * @param dst       目标数组, 需要至少 length / 2 的剩余空间
+     * @param dstOffset 写入的起始位置
+     * @return 写入的字节数, 长度为奇数或包含非十六进制字符时返回-1, 此时目标数组的内容不确定
+     */
+    public static int hex2byte(char[] src, int offset, int length, byte[] dst, int dstOffset) {
+        if (offset < 0 || length < 0 || offset > src.length - length) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", length: " + length + ", array length: " + src.length);
+        }
+        if ((length & 1) != 0) {
+            return -1;
+        }
+        checkHexDestination(dst, dstOffset, length >> 1);
+        int invalid = 0;
+        for (int i = offset, end = offset + length, j = dstOffset; i < end; i += 2) {
+            int high = hexValue(src[i]);
+            int low  = hexValue(src[i + 1]);
+            invalid |= high | low;
+            dst[j++] = (byte) (high << 4 | low);
+        }
+        return invalid < 0 ? -1 : length >> 1;
+    }
+
+    /**
+     * 将缓冲区中剩余的16进制ASCII字符转换为2进制并写入目标缓冲区, 不区分大小写.
+     * 成功时两个缓冲区的position向后移动, 失败时position不变, 目标缓冲区中被写入的内容不确定
+     *
+     * @param src 16进制ASCII字符
+     * @param dst 目标缓冲区
+     * @return 写入的字节数, 长度为奇数或包含非十六进制字符时返回-1
+     * @throws BufferOverflowException 目标缓冲区的剩余空间不足时抛出
+     */
+    public static int hex2byte(ByteBuffer src, ByteBuffer dst) {
+        int length = src.remaining();
+        if ((length & 1) != 0) {
+            return -1;
+        }
+        int count = length >> 1;
+        if (dst.remaining() < count) {
+            throw new BufferOverflowException();
+        }
+        int srcPosition = src.position();
+        int dstPosition = dst.position();
+        int invalid     = 0;
+        if (src.hasArray() && dst.hasArray()) {
+            byte[] in  = src.array();
+            byte[] out = dst.array();
+            for (int i = src.arrayOffset() + srcPosition, j = dst.arrayOffset() + dstPosition, end = j + count; j < end; i += 2) {
+                int high = hexValue(in[i]);
+                int low  = hexValue(in[i + 1]);
+                invalid |= high | low;
+                out[j++] = (byte) (high << 4 | low);
+            }
+        } else {
+            for (int i = srcPosition, j = dstPosition, end = j + count; j < end; i += 2) {
+                int high = hexValue(src.get(i));
+                int low  = hexValue(src.get(i + 1));
+                invalid |= high | low;
+                dst.put(j++, (byte) (high << 4 | low));
+            }
+        }
+        if (invalid < 0) {
+            return -1;
+        }
+        src.position(srcPosition + length);
+        dst.position(dstPosition + count);
+        return count;
+    }
+
+    private static void checkHexDestination(byte[] dst, int dstOffset, int count) {
+        if (dstOffset < 0 || dstOffset > dst.length - count) {
+            throw new IndexOutOfBoundsException("Destination offset: " + dstOffset + ", length: " + count + ", array length: " + dst.length);
+        }
+    }
+
+    static int hexValue(int c) {
+        // 非ASCII字符(包括ByteBuffer中的负数字节)映射为-1
+        return (c & ~0x7F) == 0 ? HEX_VALUES[c] : -1;
+    }
+
+    /**
+     * 计算{@link #longs2varint(long[], int, int, ByteBuffer)}编码后的字节数
+     *
+     * @param values 数据
+     * @param offset 起始位置
+     * @param length 数量
+     * @return 编码后的字节数
+     */
+    public static int varintLength(long[] values, int offset, int length) {
+        checkLongRange(values, offset, length);
+        boolean sorted = isSorted(values, offset, length);
+        int     size   = varintSize(header(length, sorted));
+        long    prev   = 0L;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            size += varintSize(delta(values[i], prev, sorted));
+            prev = values[i];
+        }
+        return size;
+    }
+
+    /**
+     * 将long数组编码为变长字节, 适合排序后的ID列表
+     *
+     * @param values 数据
+     * @return 编码后的字节
+     * @see #longs2varint(long[], int, int, ByteBuffer)
+     */
+    public static byte[] longs2varint(long[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(varintLength(values, 0, values.length));
+        longs2varint(values, 0, values.length, buffer);
+        return buffer.array();
+    }
+
+    /**
+     * 将long数组的指定范围编码为变长字节并写入缓冲区
+     * <p>
+     * 先写入数量, 再依次写入每个值与前一个值 (第一个值与0) 的差, 均使用 LEB128 变长编码 (每字节7位, 最高位表示后续还有字节).
+     * 数据非递减时差值按无符号数编码; 否则使用 ZigZag 编码, 使较小的负差值同样只占用少量字节, 数据是否有序记录在数量的最低位.
+     * 同一时间段内生成的雪花算法ID排序后, 每个通常只需要2~3个字节.
+     * </p>
+     *
+     * @param values 数据
+     * @param offset 起始位置
+     * @param length 数量
+     * @param dst    目标缓冲区, 成功时position向后移动
+     * @return 写入的字节数
+     * @throws BufferOverflowException 目标缓冲区的剩余空间不足时抛出, 此时缓冲区不变
+     */
+    public static int longs2varint(long[] values, int offset, int length, ByteBuffer dst) {
+        int size = varintLength(values, offset, length);
+        if (dst.remaining() < size) {
+            throw new BufferOverflowException();
+        }
+        boolean sorted = isSorted(values, offset, length);
+        putVarint(dst, header(length, sorted));
+        long prev = 0L;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            putVarint(dst, delta(values[i], prev, sorted));
+            prev = values[i];
+        }
+        return size;
+    }
+
+    /**
+     * 从缓冲区中解码{@link #longs2varint(long[], int, int, ByteBuffer)}写入的数据
+     *
+     * @param src 源缓冲区, 成功时position向后移动
+     * @return 解码后的数据
+     * @throws IllegalArgumentException 数据不合法时抛出, 此时缓冲区的position不变
+     */
+    public static long[] varint2longs(ByteBuffer src) {
+        int position = src.position();
+        try {
+            long[] values = new long[readLongCount(src)];
+            readDeltas(src, values, 0, values.length, isSortedHeader(src, position));
+            return values;
+        } catch (RuntimeException e) {
+            src.position(position);
+            throw e;
+        }
+    }
+
+    /**
+     * 从缓冲区中解码{@link #longs2varint(long[], int, int, ByteBuffer)}写入的数据, 并写入目标数组
+     *
+     * @param src       源缓冲区, 成功时position向后移动
+     * @param dst       目标数组
+     * @param dstOffset 写入的起始位置
+     * @return 解码的数量
+     * @throws IllegalArgumentException  数据不合法时抛出, 此时缓冲区的position不变
+     * @throws IndexOutOfBoundsException 目标数组的剩余空间不足时抛出, 此时缓冲区的position不变
+     */
+    public static int varint2longs(ByteBuffer src, long[] dst, int dstOffset) {
+        int position = src.position();
+        try {
+            int count = readLongCount(src);
+            checkLongRange(dst, dstOffset, count);
+            readDeltas(src, dst, dstOffset, count, isSortedHeader(src, position));
+            return count;
+        } catch (RuntimeException e) {
+            src.position(position);
+            throw e;
+        }
+    }
+
+    private static void checkLongRange(long[] values, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > values.length - length) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", length: " + length + ", array length: " + values.length);
+        }
+    }
+
+    private static boolean isSorted(long[] values, int offset, int length) {
+        for (int i = offset + 1, end = offset + length; i < end; i++) {
+            if (values[i] < values[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long header(int length, boolean sorted) {
+        return (long) length << 1 | (sorted ? 0 : 1);
+    }
+
+    /**
+     * 有序时差值非负 (按无符号数处理, 溢出也不影响还原), 无序时使用 ZigZag 编码
+     */
+    private static long delta(long value, long prev, boolean sorted) {
+        long delta = value - prev;
+        return sorted ? delta : delta << 1 ^ delta >> 63;
+    }
+
+    private static int varintSize(long value) {
+        // 每7位一个字节, 0也占用1个字节
+        return (63 - Long.numberOfLeadingZeros(value | 1)) / 7 + 1;
+    }
+
+    private static void putVarint(ByteBuffer dst, long value) {
+        while ((value & ~0x7FL) != 0) {
+            dst.put((byte) (value | 0x80));
+            value >>>= 7;
+        }
+        dst.put((byte) value);
+    }
+
+    private static long getVarint(ByteBuffer src) {
+        long value = 0L;
+        for (int shift = 0; shift < VARINT_MAX_BYTES * 7; shift += 7) {
+            if (!src.hasRemaining()) {
+                throw new IllegalArgumentException("Varint can't be truncated");
+            }
+            byte b = src.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint can't be longer than " + VARINT_MAX_BYTES + " bytes");
+    }
+
+    private static int readLongCount(ByteBuffer src) {
+        long count = getVarint(src) >>> 1;
+        // 每个值至少占用1个字节, 防止不合法的数量导致分配过大的数组
+        if (count > src.remaining()) {
+            throw new IllegalArgumentException("Count can't be greater than remaining bytes: " + count);
+        }
+        return (int) count;
+    }
+
+    private static boolean isSortedHeader(ByteBuffer src, int position) {
+        // 数量的第一个字节的最低位为排序标记
+        return (src.get(position) & 1) == 0;
+    }
+
+    private static void readDeltas(ByteBuffer src, long[] dst, int dstOffset, int count, boolean sorted) {
+        long prev = 0L;
+        for (int i = dstOffset, end = dstOffset + count; i < end; i++) {
+            long delta = getVarint(src);
+            prev += sorted ? delta : delta >>> 1 ^ -(delta & 1);
+            dst[i] = prev;
+        }
+    }
+
 }
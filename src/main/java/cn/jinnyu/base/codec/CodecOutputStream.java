@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.codec;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 写入时编解码的输出流, 关闭时处理剩余数据并关闭底层流
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+final class CodecOutputStream extends FilterOutputStream {
+
+    private final BlockCodec codec;
+    private final int        capacity;
+    private       byte[]     input;
+    private       byte[]     output;
+    private       int        pending;
+    private       boolean    closed;
+
+    CodecOutputStream(OutputStream out, BlockCodec codec) {
+        super(out);
+        this.codec = codec;
+        this.capacity = codec.blocksPerChunk(ChunkPool.CHUNK_SIZE) * codec.inBlock;
+        this.input = ChunkPool.acquire();
+        this.output = ChunkPool.acquire();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        input[pending++] = (byte) b;
+        if (pending == capacity) {
+            drain();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (off < 0 || len < 0 || off > b.length - len) {
+            throw new IndexOutOfBoundsException("Offset: " + off + ", length: " + len + ", array length: " + b.length);
+        }
+        while (len > 0) {
+            int count = Math.min(len, capacity - pending);
+            System.arraycopy(b, off, input, pending, count);
+            pending += count;
+            off += count;
+            len -= count;
+            if (pending == capacity) {
+                drain();
+            }
+        }
+    }
+
+    /**
+     * 输出所有完整的分组, 不足一个分组的数据保留到后续写入或关闭时
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        drain();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            drain();
+            int count = codec.finish(input, 0, pending, output, 0);
+            out.write(output, 0, count);
+            out.flush();
+        } finally {
+            ChunkPool.release(input);
+            ChunkPool.release(output);
+            input = null;
+            output = null;
+            out.close();
+        }
+    }
+
+    private void drain() throws IOException {
+        int blocks = pending / codec.inBlock;
+        if (blocks == 0) {
+            return;
+        }
+        codec.transform(input, 0, blocks, output, 0);
+        out.write(output, 0, blocks * codec.outBlock);
+        int consumed = blocks * codec.inBlock;
+        pending -= consumed;
+        System.arraycopy(input, consumed, input, 0, pending);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.codec;
+
+/**
+ * 十六进制编码的批量实现入口
+ * <p>
+ * 多版本jar: Java 8 使用{@link TableHexKernel}, {@code META-INF/versions/17}中的版本在可用时使用 Vector API.
+ * </p>
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+final class HexKernel {
+
+    private HexKernel() {
+    }
+
+    /**
+     * 将byte数组的指定范围编码为十六进制字符, 调用方负责检查边界
+     */
+    static void encode(byte[] src, int offset, int length, char[] dst, int dstOffset, boolean upperCase) {
+        TableHexKernel.encode(src, offset, length, dst, dstOffset, upperCase);
+    }
+
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.codec;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * 进制编解码器
+ * <p>
+ * 每个字母表构建一次, 预先计算128项的反查表, 将long视为无符号64位整数编解码. 编解码可直接读写{@code char[]}, 不创建中间对象.
+ * </p>
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+public final class Radix {
+
+    /**
+     * Base62, 字母表按ASCII顺序排列 (0-9A-Za-z), 定长编码时字典序与数值顺序一致
+     */
+    public static final Radix BASE62    = new Radix("0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz", false);
+    /**
+     * Base36, 编码为小写 (与{@link Long#toString(long, int)}一致), 解码不区分大小写
+     */
+    public static final Radix BASE36    = new Radix("0123456789abcdefghijklmnopqrstuvwxyz", true);
+    /**
+     * Base58, 比特币字母表, 不含易混淆的 0/O/I/l
+     */
+    public static final Radix BASE58    = new Radix("123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz", false);
+    /**
+     * Crockford Base32, 编码为大写, 解码不区分大小写, 且将 I/L 视为 1, O 视为 0
+     */
+    public static final Radix CROCKFORD = new Radix("0123456789ABCDEFGHJKMNPQRSTVWXYZ", true).alias('I', '1').alias('L', '1').alias('O', '0');
+
+    /**
+     * 字母表
+     */
+    @Getter
+    private final String alphabet;
+    /**
+     * 进制数
+     */
+    @Getter
+    private final int    radix;
+    /**
+     * 无符号64位整数的最大编码长度
+     */
+    @Getter
+    private final int    maxLength;
+    private final char[] digits;
+    /**
+     * ASCII字符对应的数值, 不在字母表中的字符为-1
+     */
+    private final byte[] values = new byte[128];
+    /**
+     * powers[i] = radix^(i+1), 用于计算编码长度, 超出无符号64位范围的项为0
+     */
+    private final long[] powers;
+    /**
+     * 乘以radix前不溢出的最大值(无符号)
+     */
+    private final long   multiplyLimit;
+
+    /**
+     * @param alphabet        字母表, 长度即进制数(2~64), 只能包含不重复的ASCII字符
+     * @param caseInsensitive 解码时是否不区分大小写
+     */
+    public Radix(String alphabet, boolean caseInsensitive) {
+        if (alphabet == null || alphabet.length() < 2 || alphabet.length() > 64) {
+            throw new IllegalArgumentException("Alphabet length must be between 2 and 64");
+        }
+        this.alphabet = alphabet;
+        this.radix = alphabet.length();
+        this.digits = alphabet.toCharArray();
+        Arrays.fill(values, (byte) -1);
+        for (int i = 0; i < radix; i++) {
+            char c = digits[i];
+            if (c >= 128 || values[c] >= 0) {
+                throw new IllegalArgumentException("Alphabet can't contain duplicate or non-ASCII char: [" + c + "]");
+            }
+            values[c] = (byte) i;
+        }
+        if (caseInsensitive) {
+            for (int i = 0; i < radix; i++) {
+                char c = digits[i];
+                if (Character.isLetter(c)) {
+                    char other = Character.isUpperCase(c) ? Character.toLowerCase(c) : Character.toUpperCase(c);
+                    if (values[other] >= 0 && values[other] != i) {
+                        throw new IllegalArgumentException("Alphabet can't be case insensitive with both [" + c + "] and [" + other + "]");
+                    }
+                    values[other] = (byte) i;
+                }
+            }
+        }
+        this.multiplyLimit = Long.divideUnsigned(-1L, radix);
+        long[] table = new long[64];
+        int    count = 0;
+        for (long power = radix; ; power *= radix) {
+            table[count++] = power;
+            if (Long.compareUnsigned(power, multiplyLimit) > 0) {
+                break;
+            }
+        }
+        this.powers = Arrays.copyOf(table, count);
+        this.maxLength = count + 1;
+    }
+
+    /**
+     * 编码为最短的字符串 (0编码为字母表的第一个字符)
+     *
+     * @param value 无符号64位整数
+     * @return 编码后的字符串
+     */
+    public String encode(long value) {
+        char[] chars  = new char[maxLength];
+        int    length = encode(value, chars, 0);
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * 编码为最短的字符串并写入目标数组
+     *
+     * @param value  无符号64位整数
+     * @param dst    目标数组, 需要至少{@link #length(long)}的剩余空间
+     * @param offset 写入的起始位置
+     * @return 写入的字符数
+     */
+    public int encode(long value, char[] dst, int offset) {
+        int length = length(value);
+        write(value, dst, offset, length);
+        return length;
+    }
+
+    /**
+     * 编码为定长字符串并写入目标数组, 不足的部分以字母表的第一个字符左侧补齐
+     *
+     * @param value  无符号64位整数
+     * @param dst    目标数组
+     * @param offset 写入的起始位置
+     * @param width  长度
+     * @throws IllegalArgumentException 编码长度超过width时抛出
+     */
+    public void encode(long value, char[] dst, int offset, int width) {
+        if (width < 0 || length(value) > width) {
+            throw new IllegalArgumentException("Value " + Long.toUnsignedString(value) + " can't be encoded in " + width + " chars");
+        }
+        write(value, dst, offset, width);
+    }
+
+    /**
+     * @param value 无符号64位整数
+     * @return 最短编码的长度
+     */
+    public int length(long value) {
+        int length = 1;
+        while (length < maxLength && Long.compareUnsigned(value, powers[length - 1]) >= 0) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * 解码
+     *
+     * @param chars 编码后的字符串
+     * @return 无符号64位整数
+     * @throws NumberFormatException 为空, 包含字母表以外的字符或超出无符号64位范围时抛出
+     */
+    public long decode(CharSequence chars) {
+        int length = chars.length();
+        if (length == 0) {
+            throw new NumberFormatException("Empty radix-" + radix + " string");
+        }
+        long result = 0L;
+        for (int i = 0; i < length; i++) {
+            result = accumulate(result, chars.charAt(i), chars);
+        }
+        return result;
+    }
+
+    /**
+     * 解码数组中的指定范围
+     *
+     * @param src    源数组
+     * @param offset 起始位置
+     * @param length 字符数
+     * @return 无符号64位整数
+     * @throws NumberFormatException 为空, 包含字母表以外的字符或超出无符号64位范围时抛出
+     */
+    public long decode(char[] src, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > src.length - length) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", length: " + length + ", array length: " + src.length);
+        }
+        if (length == 0) {
+            throw new NumberFormatException("Empty radix-" + radix + " string");
+        }
+        long result = 0L;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            result = accumulate(result, src[i], null);
+        }
+        return result;
+    }
+
+    /**
+     * 解码指定范围, 并限制结果的最大值, 不合法时不抛出异常
+     *
+     * @param chars  编码后的字符串
+     * @param offset 起始位置
+     * @param length 字符数
+     * @param max    允许的最大值, 非负
+     * @return 解码结果, 为空, 包含字母表以外的字符或大于max时返回-1
+     */
+    public long tryDecode(CharSequence chars, int offset, int length, long max) {
+        if (offset < 0 || length < 0 || offset > chars.length() - length) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", length: " + length + ", sequence length: " + chars.length());
+        }
+        checkMax(max);
+        if (length == 0) {
+            return -1L;
+        }
+        long result = 0L;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            int v = value(chars.charAt(i));
+            if (v < 0 || overflows(result, v)) {
+                return -1L;
+            }
+            result = result * radix + v;
+            if (Long.compareUnsigned(result, max) > 0) {
+                return -1L;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 解码数组中的指定范围, 并限制结果的最大值, 不合法时不抛出异常
+     *
+     * @param src    源数组
+     * @param offset 起始位置
+     * @param length 字符数
+     * @param max    允许的最大值, 非负
+     * @return 解码结果, 为空, 包含字母表以外的字符或大于max时返回-1
+     */
+    public long tryDecode(char[] src, int offset, int length, long max) {
+        if (offset < 0 || length < 0 || offset > src.length - length) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", length: " + length + ", array length: " + src.length);
+        }
+        checkMax(max);
+        if (length == 0) {
+            return -1L;
+        }
+        long result = 0L;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            int v = value(src[i]);
+            if (v < 0 || overflows(result, v)) {
+                return -1L;
+            }
+            result = result * radix + v;
+            if (Long.compareUnsigned(result, max) > 0) {
+                return -1L;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param chars 字符串
+     * @return 是否可以解码 (非空, 只包含字母表中的字符且不超出无符号64位范围)
+     */
+    public boolean isValid(CharSequence chars) {
+        if (chars == null || chars.length() == 0) {
+            return false;
+        }
+        long result = 0L;
+        for (int i = 0, length = chars.length(); i < length; i++) {
+            int v = value(chars.charAt(i));
+            if (v < 0 || overflows(result, v)) {
+                return false;
+            }
+            result = result * radix + v;
+        }
+        return true;
+    }
+
+    /**
+     * @param c 字符
+     * @return 字符对应的数值, 不在字母表中时返回-1
+     */
+    public int value(char c) {
+        return c < 128 ? values[c] : -1;
+    }
+
+    @Override
+    public String toString() {
+        return "Radix-" + radix + " [" + alphabet + "]";
+    }
+
+    private Radix alias(char alias, char target) {
+        values[alias] = values[target];
+        values[Character.toLowerCase(alias)] = values[target];
+        return this;
+    }
+
+    private void write(long value, char[] dst, int offset, int length) {
+        if (offset < 0 || offset > dst.length - length) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", length: " + length + ", array length: " + dst.length);
+        }
+        int i = offset + length - 1;
+        if (value < 0) {
+            // 最高位为1, 先做一次无符号除法, 之后的值均为非负数
+            dst[i--] = digits[(int) Long.remainderUnsigned(value, radix)];
+            value = Long.divideUnsigned(value, radix);
+        }
+        for (; i >= offset; i--) {
+            dst[i] = digits[(int) (value % radix)];
+            value /= radix;
+        }
+    }
+
+    private long accumulate(long result, char c, CharSequence source) {
+        int v = value(c);
+        if (v < 0) {
+            throw new NumberFormatException("Invalid radix-" + radix + " char: [" + c + "]" + (source == null ? "" : " in [" + source + "]"));
+        }
+        if (overflows(result, v)) {
+            throw new NumberFormatException("Radix-" + radix + " value exceeds unsigned 64 bits" + (source == null ? "" : ": [" + source + "]"));
+        }
+        return result * radix + v;
+    }
+
+    /**
+     * @return result * radix + v 是否超出无符号64位范围
+     */
+    private boolean overflows(long result, int v) {
+        if (Long.compareUnsigned(result, multiplyLimit) > 0) {
+            return true;
+        }
+        long shifted = result * radix;
+        return Long.compareUnsigned(shifted + v, shifted) < 0;
+    }
+
+    private static void checkMax(long max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("Max can't be less than 0");
+        }
+    }
+
+}
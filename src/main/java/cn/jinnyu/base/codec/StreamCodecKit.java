@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.codec;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * 流式的十六进制与 Base32 编解码
+ * <p>
+ * 数据按定长分组分块处理, 缓冲区取自共享的缓冲区池并在关闭时归还, 内存占用与数据大小无关.
+ * 十六进制编码输出ASCII字符, 解码不区分大小写; Base32 使用与{@link cn.jinnyu.base.totp.Base32}相同的字母表, 解码不区分大小写,
+ * 末尾不足5字节的分组按 RFC 4648 输出 2/4/5/7 个字符且不填充.
+ * 输出流与通道必须关闭才会输出最后不足一个分组的数据, 解码时输入长度不合法或包含非法字符将抛出{@link java.io.IOException}.
+ * Base64 可直接使用{@link java.util.Base64.Encoder#wrap(OutputStream)}与{@link java.util.Base64.Decoder#wrap(InputStream)}.
+ * </p>
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+public enum StreamCodecKit {
+
+    ;
+
+    /**
+     * @param out       输出十六进制字符的流
+     * @param upperCase 是否使用大写字母
+     * @return 写入原始数据的流
+     */
+    public static OutputStream encodeHex(OutputStream out, boolean upperCase) {
+        return new CodecOutputStream(out, upperCase ? BlockCodec.HEX_UPPER_ENCODER : BlockCodec.HEX_LOWER_ENCODER);
+    }
+
+    /**
+     * @param in        原始数据
+     * @param upperCase 是否使用大写字母
+     * @return 读取十六进制字符的流
+     */
+    public static InputStream encodeHex(InputStream in, boolean upperCase) {
+        return new CodecInputStream(in, upperCase ? BlockCodec.HEX_UPPER_ENCODER : BlockCodec.HEX_LOWER_ENCODER);
+    }
+
+    /**
+     * @param channel   输出十六进制字符的通道
+     * @param upperCase 是否使用大写字母
+     * @return 写入原始数据的通道
+     */
+    public static WritableByteChannel encodeHex(WritableByteChannel channel, boolean upperCase) {
+        return new CodecChannel(channel, upperCase ? BlockCodec.HEX_UPPER_ENCODER : BlockCodec.HEX_LOWER_ENCODER);
+    }
+
+    /**
+     * @param out 输出原始数据的流
+     * @return 写入十六进制字符的流
+     */
+    public static OutputStream decodeHex(OutputStream out) {
+        return new CodecOutputStream(out, BlockCodec.HEX_DECODER);
+    }
+
+    /**
+     * @param in 十六进制字符
+     * @return 读取原始数据的流
+     */
+    public static InputStream decodeHex(InputStream in) {
+        return new CodecInputStream(in, BlockCodec.HEX_DECODER);
+    }
+
+    /**
+     * @param channel 输出原始数据的通道
+     * @return 写入十六进制字符的通道
+     */
+    public static WritableByteChannel decodeHex(WritableByteChannel channel) {
+        return new CodecChannel(channel, BlockCodec.HEX_DECODER);
+    }
+
+    /**
+     * @param out 输出 Base32 字符的流
+     * @return 写入原始数据的流
+     */
+    public static OutputStream encodeBase32(OutputStream out) {
+        return new CodecOutputStream(out, BlockCodec.BASE32_ENCODER);
+    }
+
+    /**
+     * @param in 原始数据
+     * @return 读取 Base32 字符的流
+     */
+    public static InputStream encodeBase32(InputStream in) {
+        return new CodecInputStream(in, BlockCodec.BASE32_ENCODER);
+    }
+
+    /**
+     * @param channel 输出 Base32 字符的通道
+     * @return 写入原始数据的通道
+     */
+    public static WritableByteChannel encodeBase32(WritableByteChannel channel) {
+        return new CodecChannel(channel, BlockCodec.BASE32_ENCODER);
+    }
+
+    /**
+     * @param out 输出原始数据的流
+     * @return 写入 Base32 字符的流
+     */
+    public static OutputStream decodeBase32(OutputStream out) {
+        return new CodecOutputStream(out, BlockCodec.BASE32_DECODER);
+    }
+
+    /**
+     * @param in Base32 字符
+     * @return 读取原始数据的流
+     */
+    public static InputStream decodeBase32(InputStream in) {
+        return new CodecInputStream(in, BlockCodec.BASE32_DECODER);
+    }
+
+    /**
+     * @param channel 输出原始数据的通道
+     * @return 写入 Base32 字符的通道
+     */
+    public static WritableByteChannel decodeBase32(WritableByteChannel channel) {
+        return new CodecChannel(channel, BlockCodec.BASE32_DECODER);
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.codec;
+
+/**
+ * 查表的十六进制编码, 每个字节查两次16个字符的表
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+final class TableHexKernel {
+
+    private static final char[] UPPER_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final char[] LOWER_DIGITS = "0123456789abcdef".toCharArray();
+
+    private TableHexKernel() {
+    }
+
+    static void encode(byte[] src, int offset, int length, char[] dst, int dstOffset, boolean upperCase) {
+        char[] digits = upperCase ? UPPER_DIGITS : LOWER_DIGITS;
+        for (int i = offset, end = offset + length, j = dstOffset; i < end; i++) {
+            int v = src[i] & 0xFF;
+            dst[j++] = digits[v >>> 4];
+            dst[j++] = digits[v & 0xF];
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.id;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 带预填充环形缓冲区的雪花算法ID生成器
+ * <p>
+ * 后台线程预先通过{@link SnowFlake#fill(long[], int, int)}批量生成ID并填入容量为2的幂的环形缓冲区,
+ * 当剩余数量低于阈值时补充填充. 获取ID只需一次原子自增, 不会在调用线程中等待下一毫秒.
+ * </p>
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+@Slf4j
+public final class CachedSnowFlake implements Closeable {
+
+    /**
+     * 默认缓冲区大小
+     */
+    public static final int  DEFAULT_BUFFER_SIZE    = 1 << 16;
+    /**
+     * 默认填充阈值 (百分比), 剩余数量低于缓冲区的该比例时触发填充
+     */
+    public static final int  DEFAULT_PADDING_FACTOR = 50;
+    /**
+     * 后台线程在无填充需求时的最长休眠时间
+     */
+    private static final long IDLE_PARK_NANOS       = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Getter
+    private final SnowFlake       snowFlake;
+    @Getter
+    private final int             bufferSize;
+    private final int             mask;
+    private final int             threshold;
+    private final long[]          slots;
+    /**
+     * 每个槽位的序号: 等于位置 t 时可写入, 等于 t + 1 时可读取
+     */
+    private final AtomicLongArray sequences;
+    /**
+     * 下一个待读取的位置
+     */
+    private final AtomicLong      cursor    = new AtomicLong();
+    /**
+     * 下一个待写入的位置, 仅由填充线程更新
+     */
+    private final AtomicLong      tail      = new AtomicLong();
+    private final LongAdder       underflow = new LongAdder();
+    private final LongAdder       padded    = new LongAdder();
+    private final Thread          padding;
+    private volatile boolean      running   = true;
+
+    public CachedSnowFlake(SnowFlake snowFlake) {
+        this(snowFlake, DEFAULT_BUFFER_SIZE, DEFAULT_PADDING_FACTOR);
+    }
+
+    /**
+     * @param snowFlake     雪花算法ID生成器
+     * @param bufferSize    缓冲区大小, 向上取整为2的幂
+     * @param paddingFactor 填充阈值 (1~100), 剩余数量低于缓冲区的该百分比时触发填充
+     */
+    public CachedSnowFlake(SnowFlake snowFlake, int bufferSize, int paddingFactor) {
+        if (snowFlake == null) {
+            throw new IllegalArgumentException("SnowFlake can't be null");
+        }
+        if (bufferSize < 2 || bufferSize > 1 << 30) {
+            throw new IllegalArgumentException("BufferSize must be between 2 and " + (1 << 30));
+        }
+        if (paddingFactor < 1 || paddingFactor > 100) {
+            throw new IllegalArgumentException("PaddingFactor must be between 1 and 100");
+        }
+        this.snowFlake = snowFlake;
+        this.bufferSize = Integer.highestOneBit(bufferSize - 1) << 1;
+        this.mask = this.bufferSize - 1;
+        this.threshold = (int) ((long) this.bufferSize * paddingFactor / 100);
+        this.slots = new long[this.bufferSize];
+        this.sequences = new AtomicLongArray(this.bufferSize);
+        for (int i = 0; i < this.bufferSize; i++) {
+            sequences.set(i, i);
+        }
+        pad(new long[this.bufferSize]);
+        this.padding = new Thread(this::padLoop, "cached-snow-flake-padding");
+        this.padding.setDaemon(true);
+        this.padding.start();
+        log.info("Cached snowFlake started. BufferSize: [{}], Threshold: [{}]", this.bufferSize, this.threshold);
+    }
+
+    /**
+     * 产生下一个ID
+     */
+    public long nextId() {
+        long position = cursor.getAndIncrement();
+        int  index    = (int) position & mask;
+        if (sequences.get(index) != position + 1) {
+            // 缓冲区已空, 等待填充线程补充
+            underflow.increment();
+            LockSupport.unpark(padding);
+            while (sequences.get(index) != position + 1) {
+                if (!running) {
+                    throw new IllegalStateException("Cached snowFlake has been closed");
+                }
+                Thread.yield();
+            }
+        }
+        long id = slots[index];
+        sequences.lazySet(index, position + bufferSize);
+        if (tail.get() - position <= threshold) {
+            LockSupport.unpark(padding);
+        }
+        return id;
+    }
+
+    /**
+     * @return 缓冲区中剩余可用的ID数量
+     */
+    public long getFillLevel() {
+        return Math.max(0L, tail.get() - cursor.get());
+    }
+
+    /**
+     * @return 获取ID时缓冲区已空的次数
+     */
+    public long getUnderflowCount() {
+        return underflow.sum();
+    }
+
+    /**
+     * @return 累计填充的ID数量
+     */
+    public long getPaddedCount() {
+        return padded.sum();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(padding);
+    }
+
+    private void padLoop() {
+        long[] batch = new long[bufferSize];
+        while (running) {
+            try {
+                if (tail.get() - cursor.get() < threshold) {
+                    pad(batch);
+                } else {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            } catch (RuntimeException e) {
+                log.error("Padding cached snowFlake failed", e);
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * 将所有已被读取的槽位重新填满
+     */
+    private void pad(long[] batch) {
+        long from = tail.get();
+        long to   = from;
+        while (to - from < bufferSize && sequences.get((int) to & mask) == to) {
+            to++;
+        }
+        int count = (int) (to - from);
+        if (count == 0) {
+            return;
+        }
+        snowFlake.fill(batch, 0, count);
+        for (int i = 0; i < count; i++) {
+            long position = from + i;
+            int  index    = (int) position & mask;
+            slots[index] = batch[i];
+            sequences.lazySet(index, position + 1);
+        }
+        tail.set(to);
+        padded.add(count);
+    }
+
+}
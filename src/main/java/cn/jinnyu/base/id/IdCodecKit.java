@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.id;
+
+import cn.jinnyu.base.codec.Radix;
+
+/**
+ * ID字符串编解码
+ * <p>
+ * 将非负的63位ID (如雪花算法ID) 编码为定长11位的 Base62 ({@link Radix#BASE62}) 字符串. 字母表按ASCII顺序排列 (0-9A-Za-z) 且左侧补0,
+ * 因此字符串的字典序与数值顺序一致, 可直接用于排序或范围比较, 长度比19位十进制字符串减少约40%.
+ * </p>
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+public enum IdCodecKit {
+
+    ;
+
+    /**
+     * Base62 字符串的长度, 62^11 &gt; 2^63
+     */
+    public static final int BASE62_LENGTH = 11;
+
+    /**
+     * 编码为定长11位 Base62 字符串
+     *
+     * @param id 非负ID
+     * @return Base62 字符串
+     */
+    public static String toBase62(long id) {
+        char[] chars = new char[BASE62_LENGTH];
+        writeBase62(id, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * 将定长11位 Base62 字符串写入目标数组
+     *
+     * @param id     非负ID
+     * @param dst    目标数组
+     * @param offset 写入的起始位置
+     */
+    public static void writeBase62(long id, char[] dst, int offset) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Id can't be less than 0");
+        }
+        Radix.BASE62.encode(id, dst, offset, BASE62_LENGTH);
+    }
+
+    /**
+     * 解码定长11位 Base62 字符串
+     *
+     * @param chars Base62 字符串
+     * @return ID
+     * @throws IllegalArgumentException 字符串不合法时抛出
+     */
+    public static long fromBase62(CharSequence chars) {
+        long id = tryFromBase62(chars);
+        if (id < 0) {
+            throw new IllegalArgumentException("Invalid base62 id: [" + chars + "]");
+        }
+        return id;
+    }
+
+    /**
+     * 解码定长11位 Base62 字符串, 不合法时不抛出异常
+     *
+     * @param chars Base62 字符串
+     * @return ID, 字符串不合法时返回-1
+     */
+    public static long tryFromBase62(CharSequence chars) {
+        if (chars == null || chars.length() != BASE62_LENGTH) {
+            return -1L;
+        }
+        return Radix.BASE62.tryDecode(chars, 0, BASE62_LENGTH, Long.MAX_VALUE);
+    }
+
+    /**
+     * 从数组中解码定长11位 Base62 字符串, 不合法时不抛出异常
+     *
+     * @param src    源数组
+     * @param offset 读取的起始位置
+     * @return ID, 字符串不合法时返回-1
+     */
+    public static long tryFromBase62(char[] src, int offset) {
+        return Radix.BASE62.tryDecode(src, offset, BASE62_LENGTH, Long.MAX_VALUE);
+    }
+
+}
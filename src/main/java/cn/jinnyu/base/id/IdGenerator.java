@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.id;
+
+/**
+ * ID生成器
+ * <p>
+ * 通过{@link IdKit#register(IdGenerator)}注册, 或在
+ * {@code META-INF/services/cn.jinnyu.base.id.IdGenerator} 中声明实现类, 由{@link java.util.ServiceLoader}在{@link IdKit}初始化时加载,
+ * 覆盖同一类型的内置实现. 通过ServiceLoader加载的实现需要提供无参构造方法, 且构造时不能调用{@link IdKit}.
+ * </p>
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+public interface IdGenerator {
+
+    /**
+     * @return 生成的ID类型
+     */
+    IdKit.Type getType();
+
+    /**
+     * 产生下一个ID的字符串形式
+     */
+    String nextString();
+
+    /**
+     * @return 是否支持以long形式产生ID
+     */
+    default boolean isNumeric() {
+        return false;
+    }
+
+    /**
+     * 产生下一个ID的long形式
+     *
+     * @throws UnsupportedOperationException ID不能以long表示时抛出
+     */
+    default long nextLong() {
+        throw new UnsupportedOperationException(getType() + " id can't be represented as long");
+    }
+
+    /**
+     * 批量产生long形式的ID并写入目标数组
+     *
+     * @param dst    目标数组
+     * @param offset 写入的起始位置
+     * @param length 写入的数量
+     * @throws UnsupportedOperationException ID不能以long表示时抛出
+     */
+    default void fill(long[] dst, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > dst.length - length) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", length: " + length + ", array length: " + dst.length);
+        }
+        for (int i = offset, end = offset + length; i < end; i++) {
+            dst[i] = nextLong();
+        }
+    }
+
+}
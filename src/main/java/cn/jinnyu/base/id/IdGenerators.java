@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.id;
+
+import cn.jinnyu.base.random.RandomKit;
+
+/**
+ * 内置的{@link IdGenerator}实现
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+public enum IdGenerators {
+
+    ;
+
+    public static IdGenerator objectId() {
+        return objectId(TimeSource.Standard.SYSTEM);
+    }
+
+    public static IdGenerator objectId(TimeSource timeSource) {
+        return objectId(timeSource, false);
+    }
+
+    /**
+     * @param timeSource 时钟
+     * @param striped    是否使用线程独占的计数器块, 参见{@link ObjectId#getStriped()}
+     */
+    public static IdGenerator objectId(TimeSource timeSource, boolean striped) {
+        if (timeSource == null) {
+            throw new IllegalArgumentException("TimeSource can't be null");
+        }
+        return new IdGenerator() {
+            @Override
+            public IdKit.Type getType() {
+                return IdKit.Type.OBJECT_ID;
+            }
+
+            @Override
+            public String nextString() {
+                return (striped ? ObjectId.getStriped(timeSource) : ObjectId.get(timeSource)).toHexString();
+            }
+        };
+    }
+
+    public static IdGenerator random() {
+        return new IdGenerator() {
+            @Override
+            public IdKit.Type getType() {
+                return IdKit.Type.RANDOM;
+            }
+
+            @Override
+            public String nextString() {
+                return RandomKit.getString(16);
+            }
+        };
+    }
+
+    public static IdGenerator snowFlake(SnowFlake snowFlake) {
+        if (snowFlake == null) {
+            throw new IllegalArgumentException("SnowFlake can't be null");
+        }
+        return new IdGenerator() {
+            @Override
+            public IdKit.Type getType() {
+                return IdKit.Type.SNOW_FLAKE;
+            }
+
+            @Override
+            public String nextString() {
+                return String.valueOf(snowFlake.nextId());
+            }
+
+            @Override
+            public boolean isNumeric() {
+                return true;
+            }
+
+            @Override
+            public long nextLong() {
+                return snowFlake.nextId();
+            }
+
+            @Override
+            public void fill(long[] dst, int offset, int length) {
+                snowFlake.fill(dst, offset, length);
+            }
+        };
+    }
+
+    public static IdGenerator segmentId(SegmentId segmentId) {
+        if (segmentId == null) {
+            throw new IllegalArgumentException("SegmentId can't be null");
+        }
+        return new IdGenerator() {
+            @Override
+            public IdKit.Type getType() {
+                return IdKit.Type.SEGMENT;
+            }
+
+            @Override
+            public String nextString() {
+                return String.valueOf(segmentId.nextId());
+            }
+
+            @Override
+            public boolean isNumeric() {
+                return true;
+            }
+
+            @Override
+            public long nextLong() {
+                return segmentId.nextId();
+            }
+        };
+    }
+
+    public static IdGenerator ulid(UlidGenerator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("UlidGenerator can't be null");
+        }
+        return new IdGenerator() {
+            @Override
+            public IdKit.Type getType() {
+                return IdKit.Type.ULID;
+            }
+
+            @Override
+            public String nextString() {
+                return generator.nextString();
+            }
+        };
+    }
+
+    public static IdGenerator uuidV7(UuidV7Generator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("UuidV7Generator can't be null");
+        }
+        return new IdGenerator() {
+            @Override
+            public IdKit.Type getType() {
+                return IdKit.Type.UUID_V7;
+            }
+
+            @Override
+            public String nextString() {
+                return generator.nextString();
+            }
+        };
+    }
+
+}
@@ -15,12 +15,17 @@
  */
 package cn.jinnyu.base.id;
 
-import cn.jinnyu.base.lang.LangKit;
-import cn.jinnyu.base.random.RandomKit;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.ReentrantLock;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
 
 /**
  * @author jinyu@jinnyu.cn
@@ -32,38 +37,261 @@ public enum IdKit {
     ;
 
     public enum Type {
-        OBJECT_ID, SNOW_FLAKE, RANDOM
+        OBJECT_ID, SNOW_FLAKE, RANDOM, SEGMENT, ULID, UUID_V7
     }
 
-    private static final AtomicReference<SnowFlake> cache = new AtomicReference<>();
-    private static final ReentrantLock              sync  = new ReentrantLock(true);
+    /**
+     * 号段模式默认的水位线文件
+     */
+    public static final Path   DEFAULT_SEGMENT_FILE      = Paths.get(System.getProperty("user.home"), ".jinnyu", "segment.id");
+    /**
+     * 默认雪花算法实例通过该目录下的租约文件分配数据中心与机器标识. 不使用临时目录, 因为临时目录可能按服务隔离 (如 systemd PrivateTmp)
+     * 或被定期清理, 导致多个进程声明到同一个机器标识
+     */
+    public static final Path   DEFAULT_WORKER_DIRECTORY  = Paths.get(System.getProperty("user.home"), ".jinnyu", "worker-id");
+    /**
+     * 指定租约目录的系统属性, 同一主机上需要协调的进程必须使用同一目录
+     */
+    public static final String WORKER_DIRECTORY_PROPERTY = "jinnyu.id.worker.directory";
+
+    /**
+     * 按{@link Type#ordinal()}索引的ID生成器
+     */
+    private static final AtomicReferenceArray<IdGenerator> registry         = new AtomicReferenceArray<>(Type.values().length);
+    /**
+     * 默认雪花算法实例使用的租约目录
+     */
+    private static volatile Path                           workerDirectory  = Paths.get(System.getProperty(WORKER_DIRECTORY_PROPERTY, DEFAULT_WORKER_DIRECTORY.toString()));
+    /**
+     * 雪花算法与号段模式需要声明机器标识或打开文件, 首次使用时才初始化
+     */
+    private static final LazyGenerator                     defaultSnowFlake = new LazyGenerator(Type.SNOW_FLAKE, () -> IdGenerators.snowFlake(createSnowFlake()));
+    private static final LazyGenerator                     defaultSegmentId = new LazyGenerator(Type.SEGMENT, () -> IdGenerators.segmentId(new SegmentId(DEFAULT_SEGMENT_FILE)));
+
+    static {
+        registry.set(Type.OBJECT_ID.ordinal(), IdGenerators.objectId());
+        registry.set(Type.RANDOM.ordinal(), IdGenerators.random());
+        registry.set(Type.ULID.ordinal(), IdGenerators.ulid(new UlidGenerator(true)));
+        registry.set(Type.UUID_V7.ordinal(), IdGenerators.uuidV7(new UuidV7Generator(true)));
+        registry.set(Type.SNOW_FLAKE.ordinal(), defaultSnowFlake);
+        registry.set(Type.SEGMENT.ordinal(), defaultSegmentId);
+        loadProviders();
+    }
+
+    /**
+     * 通过{@link ServiceLoader}注册classpath中的ID生成器. 单个提供者加载或注册失败时记录日志并跳过, 内置生成器不受影响
+     */
+    private static void loadProviders() {
+        Iterator<IdGenerator> providers = ServiceLoader.load(IdGenerator.class).iterator();
+        for (; ; ) {
+            try {
+                if (!providers.hasNext()) {
+                    return;
+                }
+            } catch (ServiceConfigurationError e) {
+                // 读取配置文件失败时迭代器可能无法前进, 停止加载以免重复失败
+                log.error("Load id generator providers failed, remaining providers skipped", e);
+                return;
+            }
+            try {
+                register(providers.next());
+            } catch (ServiceConfigurationError | RuntimeException e) {
+                log.error("Load id generator provider failed, skipped", e);
+            }
+        }
+    }
+
+    /**
+     * 注册ID生成器, 替换同一类型已有的生成器
+     *
+     * @param generator ID生成器
+     */
+    public static void register(IdGenerator generator) {
+        if (generator == null || generator.getType() == null) {
+            throw new IllegalArgumentException("Generator and its type can't be null");
+        }
+        registry.set(generator.getType().ordinal(), generator);
+        log.info("Register id generator. Type: [{}], Generator: [{}]", generator.getType(), generator.getClass().getName());
+    }
+
+    /**
+     * @param type 类型
+     * @return 该类型当前使用的ID生成器
+     */
+    public static IdGenerator getGenerator(Type type) {
+        return registry.get(type.ordinal());
+    }
 
     public static void setSnowFlake(SnowFlake snowFlake) {
-        cache.set(snowFlake);
+        register(IdGenerators.snowFlake(snowFlake));
         log.info("Set new snowFlake instance. Start timestamp: [{}], DatacenterId: [{}], WorkerId: [{}]", snowFlake.getStartTimestamp(), snowFlake.getDataCenterId(), snowFlake.getWorkerId());
     }
 
+    /**
+     * 设置默认雪花算法实例的租约目录, 优先于系统属性{@value #WORKER_DIRECTORY_PROPERTY}
+     *
+     * @param directory 租约目录
+     * @throws IllegalStateException 默认雪花算法实例已经初始化时抛出
+     */
+    public static void setWorkerDirectory(Path directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory can't be null");
+        }
+        synchronized (defaultSnowFlake) {
+            if (defaultSnowFlake.isInitialized()) {
+                throw new IllegalStateException("Default snowFlake is already initialized with worker directory [" + workerDirectory + "]");
+            }
+            workerDirectory = directory;
+        }
+        log.info("Set worker directory: [{}]", directory);
+    }
+
+    /**
+     * @return 默认雪花算法实例使用的租约目录
+     */
+    public static Path getWorkerDirectory() {
+        return workerDirectory;
+    }
+
+    public static void setSegmentId(SegmentId segmentId) {
+        register(IdGenerators.segmentId(segmentId));
+        log.info("Set new segmentId instance. File: [{}], Step: [{}]", segmentId.getFile(), segmentId.getStep());
+    }
+
+    /**
+     * 获取long形式的ID, 仅支持{@link IdGenerator#isNumeric()}的类型
+     *
+     * @param type 类型
+     * @return ID
+     * @throws UnsupportedOperationException ID不能以long表示时抛出
+     */
+    public static long nextLong(Type type) {
+        return getGenerator(type).nextLong();
+    }
+
+    /**
+     * 获取字符串形式的ID
+     *
+     * @param type 类型
+     * @return ID
+     */
+    public static String nextString(Type type) {
+        return getGenerator(type).nextString();
+    }
+
+    /**
+     * @see #nextString(Type)
+     */
     public static String getId(Type type) {
-        switch (type) {
-            case OBJECT_ID:
-                return ObjectId.get().toHexString();
-            case SNOW_FLAKE:
-                if (LangKit.isNull(cache.get())) {
-                    try {
-                        sync.lock();
-                        if (LangKit.isNull(cache.get())) {
-                            cache.set(new SnowFlake());
-                        }
-                    } finally {
-                        if (sync.isLocked()) {
-                            sync.unlock();
-                        }
+        return nextString(type);
+    }
+
+    /**
+     * 批量获取ID, long形式的ID通过{@link IdGenerator#fill(long[], int, int)}批量生成
+     *
+     * @param type 类型
+     * @param n    数量
+     * @return ID列表
+     */
+    public static List<String> getIds(Type type, int n) {
+        IdGenerator  generator = getGenerator(type);
+        List<String> ids       = new ArrayList<>(n);
+        if (generator.isNumeric()) {
+            long[] values = new long[n];
+            generator.fill(values, 0, n);
+            for (long id : values) {
+                ids.add(String.valueOf(id));
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                ids.add(generator.nextString());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 通过{@link WorkerIdAllocator}声明一个本机唯一的节点标识 (数据中心 + 机器标识)
+     * <p>
+     * 分配失败时不能退化为固定的节点标识 (通常已被其它进程持有, 会生成重复的ID), 因此直接抛出异常.
+     * 此时需要修复租约目录, 或在首次使用前通过{@link #setSnowFlake(SnowFlake)}指定节点标识.
+     * </p>
+     *
+     * @throws IllegalStateException 分配失败时抛出
+     */
+    private static SnowFlake createSnowFlake() {
+        int  nodeBit   = SnowFlake.DEFAULT_DATA_CENTER_BIT + SnowFlake.DEFAULT_WORKER_BIT;
+        Path directory = workerDirectory;
+        try {
+            long nodeId = new WorkerIdAllocator(directory, ~(-1L << nodeBit)).getWorkerId();
+            return new SnowFlake(nodeId >>> SnowFlake.DEFAULT_WORKER_BIT, nodeId & ~(-1L << SnowFlake.DEFAULT_WORKER_BIT));
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Allocate worker id in [" + directory + "] failed. Make sure the directory is writable and has a free slot, "
+                    + "set it with -D" + WORKER_DIRECTORY_PROPERTY + " or IdKit.setWorkerDirectory(...), or call IdKit.setSnowFlake(...) with an explicit node id before first use", e);
+        }
+    }
+
+    /**
+     * 首次调用时才初始化被代理生成器, 只初始化一次
+     * <p>
+     * 不使用类加载机制 (静态内部类) 初始化, 以便初始化失败时每次调用都抛出同样的异常而不是{@link NoClassDefFoundError},
+     * 之后仍可通过{@link #register(IdGenerator)}替换或在排除故障后重试.
+     * </p>
+     */
+    private static final class LazyGenerator implements IdGenerator {
+
+        private final    Type                  type;
+        private final    Supplier<IdGenerator> factory;
+        private volatile IdGenerator           delegate;
+
+        private LazyGenerator(Type type, Supplier<IdGenerator> factory) {
+            this.type = type;
+            this.factory = factory;
+        }
+
+        private boolean isInitialized() {
+            return delegate != null;
+        }
+
+        private IdGenerator get() {
+            IdGenerator generator = delegate;
+            if (generator == null) {
+                synchronized (this) {
+                    generator = delegate;
+                    if (generator == null) {
+                        generator = factory.get();
+                        delegate = generator;
                     }
                 }
-                return String.valueOf(cache.get().nextId());
-            default:
-                return RandomKit.getString(16);
+            }
+            return generator;
+        }
+
+        @Override
+        public Type getType() {
+            return type;
+        }
+
+        @Override
+        public String nextString() {
+            return get().nextString();
+        }
+
+        @Override
+        public boolean isNumeric() {
+            return get().isNumeric();
+        }
+
+        @Override
+        public long nextLong() {
+            return get().nextLong();
         }
+
+        @Override
+        public void fill(long[] dst, int offset, int length) {
+            get().fill(dst, offset, length);
+        }
+
     }
 
 }
@@ -3,6 +3,7 @@ package cn.jinnyu.base.id;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -14,18 +15,27 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public final class ObjectId implements Comparable<ObjectId>, Serializable {
 
-    private static final long          serialVersionUID      = 3670079982654483072L;
-    private static final int           OBJECT_ID_LENGTH      = 12;
-    private static final int           LOW_ORDER_THREE_BYTES = 0x00ffffff;
+    /**
+     * The number of counter values a thread reserves at a time for striped generation.
+     */
+    public static final  int                COUNTER_BLOCK_SIZE    = 1024;
+    private static final long               serialVersionUID      = 3670079982654483072L;
+    private static final int                OBJECT_ID_LENGTH      = 12;
+    private static final int                HEX_LENGTH            = OBJECT_ID_LENGTH * 2;
+    private static final int                LOW_ORDER_THREE_BYTES = 0x00ffffff;
     // Use primitives to represent the 5-byte random value.
-    private static final int           RANDOM_VALUE1;
-    private static final short         RANDOM_VALUE2;
-    private static final AtomicInteger NEXT_COUNTER          = new AtomicInteger(new SecureRandom().nextInt());
-    private static final char[]        HEX_CHARS             = new char[] { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
-    private final        int           timestamp;
-    private final        int           counter;
-    private final        int           randomValue1;
-    private final        short         randomValue2;
+    private static final int                RANDOM_VALUE1;
+    private static final short              RANDOM_VALUE2;
+    private static final AtomicInteger      NEXT_COUNTER          = new AtomicInteger(new SecureRandom().nextInt());
+    // Per-thread counter block for striped generation: {timestamp, next counter, end of block}.
+    private static final ThreadLocal<int[]> COUNTER_BLOCK         = ThreadLocal.withInitial(() -> new int[3]);
+    private static final char[]             HEX_CHARS             = new char[] { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
+    // ASCII char to hex digit value, -1 for chars that are not hex digits.
+    private static final byte[]             HEX_VALUES            = new byte[128];
+    private final        int                timestamp;
+    private final        int                counter;
+    private final        int                randomValue1;
+    private final        short              randomValue2;
 
     /**
      * Gets a new object id.
@@ -36,6 +46,59 @@ public final class ObjectId implements Comparable<ObjectId>, Serializable {
         return new ObjectId();
     }
 
+    /**
+     * Gets a new object id using the time of the given time source.
+     *
+     * @param timeSource the time source
+     * @return the new id
+     */
+    public static ObjectId get(final TimeSource timeSource) {
+        return new ObjectId(timeSource);
+    }
+
+    /**
+     * Gets a new object id whose counter comes from a per-thread block of {@value #COUNTER_BLOCK_SIZE} values
+     * reserved from the shared counter, so that concurrent threads do not contend on it for every id.
+     * <p>
+     * A block is only used within the second it was reserved in, so ids stay unique as long as fewer than
+     * 16384 (2^24 / {@value #COUNTER_BLOCK_SIZE}) blocks are reserved per second. Ids of one thread are increasing
+     * within a second, but ids of different threads are not ordered by creation.
+     * </p>
+     *
+     * @return the new id
+     */
+    public static ObjectId getStriped() {
+        return getStriped(TimeSource.Standard.SYSTEM);
+    }
+
+    /**
+     * Gets a new object id using the time of the given time source and a per-thread counter block.
+     *
+     * @param timeSource the time source
+     * @return the new id
+     * @see #getStriped()
+     */
+    public static ObjectId getStriped(final TimeSource timeSource) {
+        int timestamp = millisToTimestampSeconds(timeSource.currentTimeMillis());
+        return new ObjectId(timestamp, nextStripedCounter(timestamp), false);
+    }
+
+    /**
+     * Generates a new object id directly into the buffer without creating an {@code ObjectId}, using a per-thread counter block.
+     * Note that the numbers are stored in big-endian order.
+     *
+     * @param timeSource the time source
+     * @param buffer     the ByteBuffer
+     * @throws IllegalArgumentException if the buffer is null or does not have at least 12 bytes remaining
+     * @see #getStriped()
+     */
+    public static void putNew(final TimeSource timeSource, final ByteBuffer buffer) {
+        notNull("buffer", buffer);
+        isTrueArgument(buffer.remaining() >= OBJECT_ID_LENGTH);
+        int timestamp = millisToTimestampSeconds(timeSource.currentTimeMillis());
+        put(buffer, timestamp, RANDOM_VALUE1, RANDOM_VALUE2, nextStripedCounter(timestamp));
+    }
+
     /**
      * Gets a new object id with the given date value and all other bits zeroed.
      * <p>
@@ -61,31 +124,122 @@ public final class ObjectId implements Comparable<ObjectId>, Serializable {
         if (hexString == null) {
             throw new IllegalArgumentException();
         }
-        int len = hexString.length();
-        if (len != 24) {
+        if (hexString.length() != HEX_LENGTH) {
             return false;
         }
-        for (int i = 0; i < len; i++) {
-            char c = hexString.charAt(i);
-            if (c >= '0' && c <= '9') {
-                continue;
-            }
-            if (c >= 'a' && c <= 'f') {
-                continue;
-            }
-            if (c >= 'A' && c <= 'F') {
-                continue;
-            }
-            return false;
+        int invalid = 0;
+        for (int i = 0; i < HEX_LENGTH; i++) {
+            invalid |= hexValue(hexString, i);
         }
-        return true;
+        return invalid >= 0;
+    }
+
+    /**
+     * Parses a 24-char hexadecimal representation of an {@code ObjectId}.
+     * <p>
+     * Validates and decodes in a single pass without creating intermediate strings.
+     * </p>
+     *
+     * @param chars the chars, e.g. a {@code String} or a {@code CharBuffer}
+     * @return the ObjectId
+     * @throws IllegalArgumentException if the chars are not a valid hex representation of an ObjectId
+     */
+    public static ObjectId parse(final CharSequence chars) {
+        ObjectId objectId = tryParse(chars);
+        if (objectId == null) {
+            throw new IllegalArgumentException("invalid hexadecimal representation of an ObjectId: [" + chars + "]");
+        }
+        return objectId;
+    }
+
+    /**
+     * Parses the 24 chars starting at the given offset of a larger sequence as an {@code ObjectId}.
+     *
+     * @param chars  the chars
+     * @param offset the offset of the first hex char
+     * @return the ObjectId
+     * @throws IllegalArgumentException if the chars at the offset are not a valid hex representation of an ObjectId
+     */
+    public static ObjectId parse(final CharSequence chars, final int offset) {
+        ObjectId objectId = tryParse(chars, offset);
+        if (objectId == null) {
+            throw new IllegalArgumentException("invalid hexadecimal representation of an ObjectId at offset " + offset + " of: [" + chars + "]");
+        }
+        return objectId;
+    }
+
+    /**
+     * Parses a 24-char hexadecimal representation of an {@code ObjectId}, returning {@code null} instead of throwing on invalid input.
+     *
+     * @param chars the chars
+     * @return the ObjectId, or null if the chars are null or not a valid hex representation of an ObjectId
+     */
+    public static ObjectId tryParse(final CharSequence chars) {
+        if (chars == null || chars.length() != HEX_LENGTH) {
+            return null;
+        }
+        return tryParse(chars, 0);
+    }
+
+    /**
+     * Parses the 24 chars starting at the given offset of a larger sequence as an {@code ObjectId},
+     * returning {@code null} instead of throwing on invalid input.
+     *
+     * @param chars  the chars
+     * @param offset the offset of the first hex char
+     * @return the ObjectId, or null if there are not 24 valid hex chars at the offset
+     */
+    public static ObjectId tryParse(final CharSequence chars, final int offset) {
+        if (chars == null || offset < 0 || offset > chars.length() - HEX_LENGTH) {
+            return null;
+        }
+        int timestamp    = 0;
+        int randomValue1 = 0;
+        int randomValue2 = 0;
+        int counter      = 0;
+        // Any invalid char sets the sign bit, checked once after the whole pass.
+        int invalid      = 0;
+        int i            = offset;
+        for (int end = i + 8; i < end; i++) {
+            int v = hexValue(chars, i);
+            invalid |= v;
+            timestamp = timestamp << 4 | v;
+        }
+        for (int end = i + 6; i < end; i++) {
+            int v = hexValue(chars, i);
+            invalid |= v;
+            randomValue1 = randomValue1 << 4 | v;
+        }
+        for (int end = i + 4; i < end; i++) {
+            int v = hexValue(chars, i);
+            invalid |= v;
+            randomValue2 = randomValue2 << 4 | v;
+        }
+        for (int end = i + 6; i < end; i++) {
+            int v = hexValue(chars, i);
+            invalid |= v;
+            counter = counter << 4 | v;
+        }
+        if (invalid < 0) {
+            return null;
+        }
+        return new ObjectId(timestamp, randomValue1, (short) randomValue2, counter, false);
     }
 
     /**
      * Create a new object id.
      */
     public ObjectId() {
-        this(new Date());
+        this(TimeSource.Standard.SYSTEM);
+    }
+
+    /**
+     * Create a new object id using the time of the given time source.
+     *
+     * @param timeSource the time source
+     */
+    public ObjectId(final TimeSource timeSource) {
+        this(millisToTimestampSeconds(timeSource.currentTimeMillis()), NEXT_COUNTER.getAndIncrement() & LOW_ORDER_THREE_BYTES, false);
     }
 
     /**
@@ -143,7 +297,14 @@ public final class ObjectId implements Comparable<ObjectId>, Serializable {
      * @throws IllegalArgumentException if the string is not a valid hex string representation of an ObjectId
      */
     public ObjectId(final String hexString) {
-        this(parseHexString(hexString));
+        this(parse(hexString));
+    }
+
+    private ObjectId(final ObjectId other) {
+        this.timestamp = other.timestamp;
+        this.counter = other.counter;
+        this.randomValue1 = other.randomValue1;
+        this.randomValue2 = other.randomValue2;
     }
 
     /**
@@ -195,6 +356,10 @@ public final class ObjectId implements Comparable<ObjectId>, Serializable {
     public void putToByteBuffer(final ByteBuffer buffer) {
         notNull("buffer", buffer);
         isTrueArgument(buffer.remaining() >= OBJECT_ID_LENGTH);
+        put(buffer, timestamp, randomValue1, randomValue2, counter);
+    }
+
+    private static void put(final ByteBuffer buffer, final int timestamp, final int randomValue1, final short randomValue2, final int counter) {
         buffer.put(int3(timestamp));
         buffer.put(int2(timestamp));
         buffer.put(int1(timestamp));
@@ -233,15 +398,45 @@ public final class ObjectId implements Comparable<ObjectId>, Serializable {
      * @return a string representation of the ObjectId in hexadecimal format
      */
     public String toHexString() {
-        char[] chars = new char[OBJECT_ID_LENGTH * 2];
-        int    i     = 0;
-        for (byte b : toByteArray()) {
-            chars[i++] = HEX_CHARS[b >> 4 & 0xF];
-            chars[i++] = HEX_CHARS[b & 0xF];
-        }
+        char[] chars = new char[HEX_LENGTH];
+        writeHex(chars, 0);
         return new String(chars);
     }
 
+    /**
+     * Appends the 24-byte hexadecimal string representation to the given builder without intermediate allocation.
+     *
+     * @param builder the builder
+     * @return the builder
+     */
+    public StringBuilder appendHex(final StringBuilder builder) {
+        notNull("builder", builder);
+        builder.ensureCapacity(builder.length() + HEX_LENGTH);
+        appendHex(builder, timestamp, 8);
+        appendHex(builder, randomValue1, 6);
+        appendHex(builder, randomValue2, 4);
+        appendHex(builder, counter, 6);
+        return builder;
+    }
+
+    /**
+     * Writes the 24-byte hexadecimal string representation into the given array.
+     *
+     * @param dst    the destination array
+     * @param offset the offset of the first char to write
+     * @throws IndexOutOfBoundsException if the array does not have 24 chars available from the offset
+     */
+    public void writeHex(final char[] dst, final int offset) {
+        notNull("dst", dst);
+        if (offset < 0 || offset > dst.length - HEX_LENGTH) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", array length: " + dst.length);
+        }
+        writeHex(dst, offset, timestamp, 8);
+        writeHex(dst, offset + 8, randomValue1, 6);
+        writeHex(dst, offset + 14, randomValue2, 4);
+        writeHex(dst, offset + 18, counter, 6);
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -277,12 +472,19 @@ public final class ObjectId implements Comparable<ObjectId>, Serializable {
         if (other == null) {
             throw new NullPointerException();
         }
-        byte[] byteArray      = toByteArray();
-        byte[] otherByteArray = other.toByteArray();
-        for (int i = 0; i < OBJECT_ID_LENGTH; i++) {
-            if (byteArray[i] != otherByteArray[i]) {
-                return ((byteArray[i] & 0xff) < (otherByteArray[i] & 0xff)) ? -1 : 1;
-            }
+        // Same order as comparing the big-endian byte arrays as unsigned bytes.
+        int result = Integer.compareUnsigned(timestamp, other.timestamp);
+        if (result != 0) {
+            return result < 0 ? -1 : 1;
+        }
+        if (randomValue1 != other.randomValue1) {
+            return randomValue1 < other.randomValue1 ? -1 : 1;
+        }
+        if (randomValue2 != other.randomValue2) {
+            return (randomValue2 & 0xffff) < (other.randomValue2 & 0xffff) ? -1 : 1;
+        }
+        if (counter != other.counter) {
+            return counter < other.counter ? -1 : 1;
         }
         return 0;
     }
@@ -300,21 +502,51 @@ public final class ObjectId implements Comparable<ObjectId>, Serializable {
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    private static int hexValue(final CharSequence chars, final int index) {
+        char c = chars.charAt(index);
+        return c < 128 ? HEX_VALUES[c] : -1;
+    }
+
+    private static void writeHex(final char[] dst, final int offset, final int value, final int digits) {
+        for (int i = 0, shift = (digits - 1) << 2; i < digits; i++, shift -= 4) {
+            dst[offset + i] = HEX_CHARS[value >>> shift & 0xF];
+        }
     }
 
-    private static byte[] parseHexString(final String s) {
-        if (!isValid(s)) {
-            throw new IllegalArgumentException("invalid hexadecimal representation of an ObjectId: [" + s + "]");
+    private static void appendHex(final StringBuilder builder, final int value, final int digits) {
+        for (int shift = (digits - 1) << 2; shift >= 0; shift -= 4) {
+            builder.append(HEX_CHARS[value >>> shift & 0xF]);
         }
-        byte[] b = new byte[OBJECT_ID_LENGTH];
-        for (int i = 0; i < b.length; i++) {
-            b[i] = (byte) Integer.parseInt(s.substring(i * 2, i * 2 + 2), 16);
+    }
+
+    private static int nextStripedCounter(final int timestamp) {
+        int[] block = COUNTER_BLOCK.get();
+        if (block[0] != timestamp || block[1] == block[2]) {
+            // Reserve a new block when the current one is used up or the second has changed
+            int start = NEXT_COUNTER.getAndAdd(COUNTER_BLOCK_SIZE);
+            block[0] = timestamp;
+            block[1] = start;
+            block[2] = start + COUNTER_BLOCK_SIZE;
         }
-        return b;
+        return block[1]++ & LOW_ORDER_THREE_BYTES;
     }
 
     private static int dateToTimestampSeconds(final Date time) {
-        return (int) (time.getTime() / 1000);
+        return millisToTimestampSeconds(time.getTime());
+    }
+
+    private static int millisToTimestampSeconds(final long millis) {
+        return (int) (millis / 1000);
     }
 
     // Big-Endian helpers, in this class because all other BSON numbers are little-endian
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.id;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 号段模式ID生成器
+ * <p>
+ * 每次从本地文件中记录的水位线申请一段连续的号码(号段), 在内存中依次分配, 生成的ID稠密且严格递增.
+ * 水位线通过{@link FileChannel#force(boolean)}落盘后号段才会投入使用, 重启后从水位线继续分配, 不会产生重复.
+ * 当前号段消耗10%后异步预申请下一个号段(双缓冲), 号段切换时无需等待磁盘IO.
+ * </p>
+ * <p>
+ * 水位线文件在使用期间被独占锁定, 多个进程或同一JVM中的多个实例不能共用同一文件.
+ * </p>
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+@Slf4j
+public final class SegmentId implements Closeable {
+
+    /**
+     * 默认号段长度
+     */
+    public static final  int  DEFAULT_STEP      = 10000;
+    /**
+     * 当前号段消耗到该比例(百分比)时预申请下一个号段
+     */
+    private static final int  PRELOAD_PERCENT   = 10;
+    private static final long SWITCH_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * 当前类加载器中的实例打开的水位线文件
+     */
+    private static final Set<Path>         OPEN_FILES       = ConcurrentHashMap.newKeySet();
+    /**
+     * 被同一JVM中其它类加载器的实例锁定的水位线文件的通道, 关闭会释放对方的锁, 因此保持打开
+     */
+    private static final Queue<FileChannel> FOREIGN_CHANNELS = new ConcurrentLinkedQueue<>();
+
+    @Getter
+    private final Path            file;
+    private final Path            key;
+    @Getter
+    private final int             step;
+    private final long            preloadThreshold;
+    private final FileChannel     channel;
+    private final FileLock        fileLock;
+    private final ByteBuffer      buffer     = ByteBuffer.allocate(Long.BYTES);
+    private final ExecutorService loader;
+    private final AtomicBoolean   loading    = new AtomicBoolean();
+    private final ReentrantLock   switchLock = new ReentrantLock();
+    /**
+     * 已落盘的水位线, 小于该值的号码均已分配
+     */
+    private       long            watermark;
+    private volatile Segment      current;
+    private volatile Segment      next;
+
+    public SegmentId(Path file) {
+        this(file, DEFAULT_STEP);
+    }
+
+    /**
+     * @param file 水位线文件
+     * @param step 号段长度
+     */
+    public SegmentId(Path file, int step) {
+        if (file == null) {
+            throw new IllegalArgumentException("File can't be null");
+        }
+        if (step < 1) {
+            throw new IllegalArgumentException("Step must be greater than 0");
+        }
+        this.file = file;
+        this.step = step;
+        this.preloadThreshold = Math.max(1L, (long) step * PRELOAD_PERCENT / 100);
+        this.key = openKey(file);
+        FileChannel openChannel = null;
+        FileLock    openLock    = null;
+        try {
+            openChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            openLock = openChannel.tryLock();
+            if (openLock == null) {
+                throw new IllegalStateException("Watermark file [" + file + "] is used by another process");
+            }
+            this.channel = openChannel;
+            this.fileLock = openLock;
+            this.watermark = readWatermark();
+            this.current = allocate();
+        } catch (OverlappingFileLockException e) {
+            // 同一JVM中其它类加载器的实例持有该文件, 关闭通道会释放它的锁, 因此保留通道
+            FOREIGN_CHANNELS.add(openChannel);
+            OPEN_FILES.remove(key);
+            throw new IllegalStateException("Watermark file [" + file + "] is used by another instance in this JVM", e);
+        } catch (IOException | RuntimeException e) {
+            releaseQuietly(openLock, openChannel);
+            OPEN_FILES.remove(key);
+            throw e instanceof IOException ? new UncheckedIOException((IOException) e) : (RuntimeException) e;
+        }
+        this.loader = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "segment-id-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Segment id started. File: [{}], Step: [{}], Start: [{}]", file, step, current.start);
+    }
+
+    /**
+     * 产生下一个ID
+     */
+    public long nextId() {
+        for (; ; ) {
+            Segment segment = current;
+            long    value   = segment.value.getAndIncrement();
+            if (value < segment.end) {
+                if (value - segment.start == preloadThreshold && next == null && loading.compareAndSet(false, true)) {
+                    loader.execute(this::preload);
+                }
+                return value;
+            }
+            switchSegment(segment);
+        }
+    }
+
+    /**
+     * @return 已落盘的水位线
+     */
+    public synchronized long getWatermark() {
+        return watermark;
+    }
+
+    @Override
+    public void close() throws IOException {
+        loader.shutdownNow();
+        try {
+            fileLock.release();
+        } finally {
+            try {
+                channel.close();
+            } finally {
+                OPEN_FILES.remove(key);
+            }
+        }
+    }
+
+    /**
+     * 将水位线文件登记为本JVM中已打开
+     *
+     * @return 文件的唯一路径
+     * @throws IllegalStateException 本JVM中已有实例使用该文件时抛出
+     */
+    private static Path openKey(Path file) {
+        Path key;
+        try {
+            Path absolute = file.toAbsolutePath();
+            Path parent   = absolute.getParent();
+            if (parent == null) {
+                key = absolute.normalize();
+            } else {
+                Files.createDirectories(parent);
+                key = parent.toRealPath().resolve(absolute.getFileName());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // 关闭同一文件的任意描述符都会释放本进程在该文件上的全部锁, 因此在打开文件之前检查
+        if (!OPEN_FILES.add(key)) {
+            throw new IllegalStateException("Watermark file [" + file + "] is used by another instance in this JVM");
+        }
+        return key;
+    }
+
+    private static void releaseQuietly(FileLock lock, FileChannel channel) {
+        try {
+            if (lock != null) {
+                lock.release();
+            }
+        } catch (IOException ignored) {
+            // 关闭通道时同样会释放
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // ignored
+            }
+        }
+    }
+
+    private void switchSegment(Segment exhausted) {
+        switchLock.lock();
+        try {
+            if (current != exhausted) {
+                // 其它线程已完成切换
+                return;
+            }
+            while (next == null) {
+                if (loading.compareAndSet(false, true)) {
+                    // 预申请尚未触发(或已失败), 同步申请
+                    loadNext();
+                } else {
+                    LockSupport.parkNanos(this, SWITCH_PARK_NANOS);
+                }
+            }
+            current = next;
+            next = null;
+        } finally {
+            switchLock.unlock();
+        }
+    }
+
+    private void preload() {
+        try {
+            loadNext();
+        } catch (RuntimeException e) {
+            log.error("Preload segment failed. File: [{}]", file, e);
+        }
+    }
+
+    /**
+     * 持有{@link #loading}标记时调用, 下一个号段尚未就绪时申请, 完成后释放标记
+     */
+    private void loadNext() {
+        try {
+            if (next == null) {
+                next = allocate();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            loading.set(false);
+        }
+    }
+
+    /**
+     * 申请新的号段, 水位线落盘后才返回
+     */
+    private synchronized Segment allocate() throws IOException {
+        long start = watermark;
+        long end   = Math.addExact(start, step);
+        buffer.clear();
+        buffer.putLong(end).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, buffer.position());
+        }
+        channel.force(true);
+        watermark = end;
+        return new Segment(start, end);
+    }
+
+    private long readWatermark() throws IOException {
+        if (channel.size() < Long.BYTES) {
+            return 0L;
+        }
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                throw new IOException("Unexpected end of watermark file [" + file + "]");
+            }
+        }
+        buffer.flip();
+        long value = buffer.getLong();
+        if (value < 0) {
+            throw new IllegalStateException("Watermark file [" + file + "] is corrupted");
+        }
+        return value;
+    }
+
+    private static final class Segment {
+
+        private final long       start;
+        private final long       end;
+        private final AtomicLong value;
+
+        private Segment(long start, long end) {
+            this.start = start;
+            this.end = end;
+            this.value = new AtomicLong(start);
+        }
+
+    }
+
+}
@@ -18,6 +18,11 @@ package cn.jinnyu.base.id;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+
 /**
  * @author jinyu@jinnyu.cn
  * @date 2022-06-29
@@ -26,52 +31,161 @@ import lombok.extern.slf4j.Slf4j;
 public final class SnowFlake {
 
     /**
-     * 数据中心占用的位数
+     * 时钟回拨时的处理策略
+     */
+    public enum ClockBackwardsPolicy {
+        /**
+         * 直接抛出异常
+         */
+        THROW,
+        /**
+         * 回拨幅度不超过容忍值时, 等待时钟追上上次生成ID的时间戳
+         */
+        WAIT,
+        /**
+         * 回拨幅度不超过容忍值时, 沿用上次生成ID的时间戳作为逻辑时钟继续推进, 直至时钟追上
+         */
+        BORROW,
+        /**
+         * 切换到备用机器标识 (占用机器标识的最高位) 继续生成, 备用机器标识拥有独立的时间戳与序列号
+         */
+        BACKUP_WORKER
+    }
+
+    /**
+     * 时间戳单位
+     */
+    public enum TimestampUnit {
+        MILLISECONDS(1L), TEN_MILLISECONDS(10L), SECONDS(1000L);
+
+        @Getter
+        private final long millis;
+
+        TimestampUnit(long millis) {
+            this.millis = millis;
+        }
+    }
+
+    /**
+     * 默认数据中心占用的位数
+     */
+    public final static int  DEFAULT_DATA_CENTER_BIT      = 5;
+    /**
+     * 默认机器标识占用的位数
      */
-    private final static long DATA_CENTER_BIT  = 5;
+    public final static int  DEFAULT_WORKER_BIT           = 5;
     /**
-     * 机器标识占用的位数
+     * 默认序列号占用的位数
      */
-    private final static long WORKER_BIT       = 5;
+    public final static int  DEFAULT_SEQUENCE_BIT         = 12;
     /**
-     * 序列号占用的位数
+     * 默认时间戳占用的位数
      */
-    private final static long SEQUENCE_BIT     = 12;
+    public final static int  DEFAULT_TIMESTAMP_BIT        = 63 - DEFAULT_DATA_CENTER_BIT - DEFAULT_WORKER_BIT - DEFAULT_SEQUENCE_BIT;
     /**
-     * 每一部分的最大值
+     * 默认的时钟回拨容忍值(毫秒)
      */
-    private final static long MAX_DATA_CENTER  = ~(-1L << DATA_CENTER_BIT);
-    private final static long MAX_WORKER       = ~(-1L << WORKER_BIT);
-    private final static long MAX_SEQUENCE     = ~(-1L << SEQUENCE_BIT);
+    public final static long DEFAULT_MAX_BACKWARDS_MILLIS = 10L;
     /**
-     * 每一部分向左的位移
+     * 序列号耗尽等待时长直方图的桶数, 第i个桶统计 [2^(i-1), 2^i) 微秒的等待, 最后一个桶包含所有更长的等待
      */
-    private final static long DATA_CENTER_LEFT = SEQUENCE_BIT + WORKER_BIT;
-    private final static long WORKER_LEFT      = SEQUENCE_BIT;
-    private final static long TIMESTAMP_LEFT   = DATA_CENTER_LEFT + DATA_CENTER_BIT;
+    public final static int  WAIT_HISTOGRAM_BUCKETS       = 24;
     /**
      * 起始的时间戳 (可设置当前时间之前的邻近时间)
      */
     @Getter
-    private final long startTimestamp;
+    private final long                 startTimestamp;
+    /**
+     * 数据中心ID(默认0~31)
+     */
+    @Getter
+    private final long                 dataCenterId;
+    /**
+     * 工作机器ID(默认0~31, 使用{@link ClockBackwardsPolicy#BACKUP_WORKER}时最高位保留)
+     */
+    @Getter
+    private final long                 workerId;
+    /**
+     * 是否使用无锁模式 (CAS) 生成ID
+     */
+    @Getter
+    private final boolean              lockFree;
+    /**
+     * 时钟回拨时的处理策略
+     */
+    @Getter
+    private final ClockBackwardsPolicy clockBackwardsPolicy;
+    /**
+     * 时钟回拨容忍值(毫秒), 对{@link ClockBackwardsPolicy#WAIT}与{@link ClockBackwardsPolicy#BORROW}有效
+     */
+    @Getter
+    private final long                 maxBackwardsMillis;
+    /**
+     * 等待时钟进入下一个时间戳单位时的等待策略
+     */
+    @Getter
+    private final WaitStrategy         waitStrategy;
+    /**
+     * 时钟
+     */
+    @Getter
+    private final TimeSource           timeSource;
     /**
-     * 数据中心ID(0~31)
+     * 时间戳单位
      */
     @Getter
-    private final long dataCenterId;
+    private final TimestampUnit        timestampUnit;
     /**
-     * 工作机器ID(0~31)
+     * 各部分占用的位数
      */
     @Getter
-    private final long workerId;
+    private final int                  timestampBit;
+    @Getter
+    private final int                  dataCenterBit;
+    @Getter
+    private final int                  workerBit;
+    @Getter
+    private final int                  sequenceBit;
+    /**
+     * 分片基因占用的位数, 位于ID的最低位
+     */
+    @Getter
+    private final int                  geneBit;
+    /**
+     * 每一部分的最大值与向左的位移, 按实例预先计算
+     */
+    private final long                 maxTimestamp;
+    private final long                 maxSequence;
+    private final long                 maxGene;
+    private final int                  timestampLeft;
+    private final long                 unitMillis;
+    private final long                 maxBackwards;
+    /**
+     * 数据中心与机器标识部分, 预先移位
+     */
+    private final long                 node;
+    private final long                 backupNode;
     /**
-     * 毫秒内序列(0~4095)
+     * 上次生成ID的时间截(相对起始时间戳)与毫秒内序列, 打包为一个long
+     * <pre>
+     *     (lastTimestamp - startTimestamp) &lt;&lt; sequenceBit | sequence
+     * </pre>
      */
-    private              long sequence         = 0L;
+    private final AtomicLong           state           = new AtomicLong(-1L);
+    private final AtomicLong           backupState     = new AtomicLong(-1L);
     /**
-     * 上次生成ID的时间截
+     * 时钟回拨各处理方式的触发次数
      */
-    private              long lastTimestamp    = -1L;
+    private final LongAdder            backwardsWait   = new LongAdder();
+    private final LongAdder            backwardsBorrow = new LongAdder();
+    private final LongAdder            backwardsBackup = new LongAdder();
+    private final LongAdder            backwardsThrow  = new LongAdder();
+    /**
+     * 序列号耗尽的次数, 累计等待时长与等待时长直方图
+     */
+    private final LongAdder            exhausted       = new LongAdder();
+    private final LongAdder            exhaustedNanos  = new LongAdder();
+    private final AtomicLongArray      exhaustedWaits  = new AtomicLongArray(WAIT_HISTOGRAM_BUCKETS);
 
     public SnowFlake() {
         // 1970-01-01 00:00:00
@@ -84,61 +198,589 @@ public final class SnowFlake {
     }
 
     public SnowFlake(long startTimestamp, long dataCenterId, long workerId) {
-        if (startTimestamp < 0) {
+        this(startTimestamp, dataCenterId, workerId, false);
+    }
+
+    /**
+     * @param startTimestamp 起始的时间戳
+     * @param dataCenterId   数据中心ID
+     * @param workerId       工作机器ID
+     * @param lockFree       是否使用无锁模式, 多线程高并发场景下吞吐量随线程数扩展而非退化到单个监视器锁
+     */
+    public SnowFlake(long startTimestamp, long dataCenterId, long workerId, boolean lockFree) {
+        this(startTimestamp, dataCenterId, workerId, lockFree, ClockBackwardsPolicy.THROW, DEFAULT_MAX_BACKWARDS_MILLIS);
+    }
+
+    /**
+     * @param startTimestamp       起始的时间戳
+     * @param dataCenterId         数据中心ID
+     * @param workerId             工作机器ID
+     * @param lockFree             是否使用无锁模式
+     * @param clockBackwardsPolicy 时钟回拨时的处理策略
+     * @param maxBackwardsMillis   时钟回拨容忍值(毫秒), 超出时抛出异常
+     */
+    public SnowFlake(long startTimestamp, long dataCenterId, long workerId, boolean lockFree, ClockBackwardsPolicy clockBackwardsPolicy, long maxBackwardsMillis) {
+        // @formatter:off
+        this(builder().startTimestamp(startTimestamp).dataCenterId(dataCenterId).workerId(workerId).
+                lockFree(lockFree).clockBackwardsPolicy(clockBackwardsPolicy).maxBackwardsMillis(maxBackwardsMillis));
+        // @formatter:on
+    }
+
+    private SnowFlake(Builder builder) {
+        if (builder.startTimestamp < 0) {
             throw new IllegalArgumentException("StartTimestamp must be greater than 0!");
         }
-        if (dataCenterId > MAX_DATA_CENTER || dataCenterId < 0) {
-            throw new IllegalArgumentException("DataCenterId can't be greater than MAX_DATA_CENTER_(" + MAX_DATA_CENTER + ") or less than 0");
+        if (builder.timestampUnit == null) {
+            throw new IllegalArgumentException("TimestampUnit can't be null");
+        }
+        if (builder.timestampBit < 1 || builder.sequenceBit < 1 || builder.dataCenterBit < 0 || builder.workerBit < 0 || builder.geneBit < 0) {
+            throw new IllegalArgumentException("Timestamp and sequence bits must be greater than 0, data center, worker and gene bits can't be less than 0");
+        }
+        if (builder.timestampBit + builder.dataCenterBit + builder.workerBit + builder.sequenceBit + builder.geneBit > 63) {
+            throw new IllegalArgumentException("Sum of timestamp, data center, worker, sequence and gene bits can't be greater than 63");
+        }
+        long maxDataCenter = ~(-1L << builder.dataCenterBit);
+        long maxWorker     = ~(-1L << builder.workerBit);
+        if (builder.dataCenterId > maxDataCenter || builder.dataCenterId < 0) {
+            throw new IllegalArgumentException("DataCenterId can't be greater than MAX_DATA_CENTER_(" + maxDataCenter + ") or less than 0");
+        }
+        if (builder.workerId > maxWorker || builder.workerId < 0) {
+            throw new IllegalArgumentException("WorkerId can't be greater than MAX_WORKER_(" + maxWorker + ") or less than 0");
         }
-        if (workerId > MAX_WORKER || workerId < 0) {
-            throw new IllegalArgumentException("WorkerId can't be greater than MAX_WORKER_(" + MAX_WORKER + ") or less than 0");
+        if (builder.clockBackwardsPolicy == null) {
+            throw new IllegalArgumentException("ClockBackwardsPolicy can't be null");
         }
-        this.startTimestamp = startTimestamp;
-        this.dataCenterId = dataCenterId;
-        this.workerId = workerId;
-        log.info("Start timestamp: [{}], DatacenterId: [{}], WorkerId: [{}]", this.startTimestamp, this.dataCenterId, this.workerId);
+        // 备用机器标识位
+        long backupWorker = (maxWorker + 1) >> 1;
+        if (ClockBackwardsPolicy.BACKUP_WORKER.equals(builder.clockBackwardsPolicy) && (backupWorker == 0 || builder.workerId >= backupWorker)) {
+            throw new IllegalArgumentException("WorkerId can't be greater than " + (backupWorker - 1) + " when the highest worker bit is reserved for backup");
+        }
+        if (builder.maxBackwardsMillis < 0) {
+            throw new IllegalArgumentException("MaxBackwardsMillis can't be less than 0");
+        }
+        if (builder.waitStrategy == null) {
+            throw new IllegalArgumentException("WaitStrategy can't be null");
+        }
+        if (builder.timeSource == null) {
+            throw new IllegalArgumentException("TimeSource can't be null");
+        }
+        this.startTimestamp = builder.startTimestamp;
+        this.dataCenterId = builder.dataCenterId;
+        this.workerId = builder.workerId;
+        this.lockFree = builder.lockFree;
+        this.clockBackwardsPolicy = builder.clockBackwardsPolicy;
+        this.maxBackwardsMillis = builder.maxBackwardsMillis;
+        this.waitStrategy = builder.waitStrategy;
+        this.timeSource = builder.timeSource;
+        this.timestampUnit = builder.timestampUnit;
+        this.timestampBit = builder.timestampBit;
+        this.dataCenterBit = builder.dataCenterBit;
+        this.workerBit = builder.workerBit;
+        this.sequenceBit = builder.sequenceBit;
+        this.geneBit = builder.geneBit;
+        this.maxTimestamp = ~(-1L << timestampBit);
+        this.maxSequence = ~(-1L << sequenceBit);
+        this.maxGene = ~(-1L << geneBit);
+        this.timestampLeft = geneBit + sequenceBit + workerBit + dataCenterBit;
+        this.unitMillis = timestampUnit.getMillis();
+        this.maxBackwards = (maxBackwardsMillis + unitMillis - 1) / unitMillis;
+        this.node = dataCenterId << (geneBit + sequenceBit + workerBit) | workerId << (geneBit + sequenceBit);
+        this.backupNode = dataCenterId << (geneBit + sequenceBit + workerBit) | (workerId | backupWorker) << (geneBit + sequenceBit);
+        // @formatter:off
+        log.info("Start timestamp: [{}], DatacenterId: [{}], WorkerId: [{}], LockFree: [{}], ClockBackwardsPolicy: [{}], Layout: [{}({})/{}/{}/{}/{}]",
+                this.startTimestamp, this.dataCenterId, this.workerId, this.lockFree, this.clockBackwardsPolicy,
+                this.timestampBit, this.timestampUnit, this.dataCenterBit, this.workerBit, this.sequenceBit, this.geneBit);
+        // @formatter:on
+    }
+
+    public static Builder builder() {
+        return new Builder();
     }
 
     /**
      * 产生下一个ID
      */
-    public synchronized long nextId() {
-        long current = getCurrentTimestamp();
-        if (current < lastTimestamp) {
-            throw new RuntimeException("Clock moved backwards. Generated ID may be duplicate!");
-        }
-        if (current == lastTimestamp) {
-            // 相同毫秒内，序列号自增
-            sequence = (sequence + 1) & MAX_SEQUENCE;
-            // 同一毫秒的序列数已经达到最大
-            if (sequence == 0L) {
-                // 阻塞到下一个毫秒,获得新的时间戳
-                current = getNextMill();
+    public long nextId() {
+        return reserve(1, 0L);
+    }
+
+    /**
+     * 产生下一个ID, 并将路由键的低{@link #geneBit}位作为分片基因嵌入ID的最低位
+     * <p>
+     * 按 {@code routingKey mod 2^geneBit} (或其因数) 分片时, 通过{@link #shardOf(long)}即可从ID算出分片, 无需查询映射表.
+     * 未保留基因位时等同于{@link #nextId()}.
+     * </p>
+     *
+     * @param routingKey 路由键, 如用户ID
+     * @return ID
+     */
+    public long nextId(long routingKey) {
+        return reserve(1, routingKey & maxGene);
+    }
+
+    /**
+     * 从ID中提取分片基因
+     *
+     * @param id 由{@link #nextId(long)}生成的ID
+     * @return 分片基因, 即路由键的低{@link #geneBit}位
+     */
+    public long shardOf(long id) {
+        return id & maxGene;
+    }
+
+    /**
+     * 批量产生ID
+     *
+     * @param n 数量
+     * @return ID数组
+     * @see #fill(long[], int, int)
+     */
+    public long[] nextIds(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Count can't be less than 0");
+        }
+        long[] ids = new long[n];
+        fill(ids, 0, n);
+        return ids;
+    }
+
+    /**
+     * 批量产生ID, 以流的形式返回
+     *
+     * @param n 数量
+     * @return ID流
+     */
+    public LongStream ids(int n) {
+        return LongStream.of(nextIds(n));
+    }
+
+    /**
+     * 使用ID填满目标数组
+     *
+     * @param dst 目标数组
+     */
+    public void fill(long[] dst) {
+        fill(dst, 0, dst.length);
+    }
+
+    /**
+     * 批量产生ID并写入目标数组
+     * <p>
+     * 每个毫秒内的序列号通过一次状态更新整段预留, 而非每个ID单独读取时钟并竞争.
+     * 同一毫秒内的ID是连续的.
+     * </p>
+     *
+     * @param dst    目标数组
+     * @param offset 写入的起始位置
+     * @param length 写入的数量
+     */
+    public void fill(long[] dst, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > dst.length - length) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", length: " + length + ", array length: " + dst.length);
+        }
+        int end = offset + length;
+        while (offset < end) {
+            int  want  = end - offset;
+            long id    = reserve(want, 0L);
+            int  count = reserved(id >>> geneBit, want);
+            for (int i = 0; i < count; i++) {
+                dst[offset++] = id + ((long) i << geneBit);
+            }
+        }
+    }
+
+    /**
+     * @return 时钟回拨后等待时钟追上的次数
+     */
+    public long getBackwardsWaitCount() {
+        return backwardsWait.sum();
+    }
+
+    /**
+     * @return 时钟回拨后沿用逻辑时钟的次数
+     */
+    public long getBackwardsBorrowCount() {
+        return backwardsBorrow.sum();
+    }
+
+    /**
+     * @return 时钟回拨后使用备用机器标识的次数
+     */
+    public long getBackwardsBackupCount() {
+        return backwardsBackup.sum();
+    }
+
+    /**
+     * @return 时钟回拨后抛出异常的次数
+     */
+    public long getBackwardsThrowCount() {
+        return backwardsThrow.sum();
+    }
+
+    /**
+     * @return 同一时间戳单位内序列号耗尽的次数
+     */
+    public long getExhaustedCount() {
+        return exhausted.sum();
+    }
+
+    /**
+     * @return 序列号耗尽后等待下一个时间戳单位的累计时长(纳秒)
+     */
+    public long getExhaustedWaitNanos() {
+        return exhaustedNanos.sum();
+    }
+
+    /**
+     * 序列号耗尽后等待时长的直方图, 第0个桶统计不足1微秒的等待, 第i个桶统计 [2^(i-1), 2^i) 微秒的等待,
+     * 最后一个桶包含所有更长的等待. 耗尽次数持续增长说明单个机器标识的生成速率已达上限.
+     *
+     * @return 各个桶的计数
+     */
+    public long[] getExhaustedWaitHistogram() {
+        long[] buckets = new long[WAIT_HISTOGRAM_BUCKETS];
+        for (int i = 0; i < WAIT_HISTOGRAM_BUCKETS; i++) {
+            buckets[i] = exhaustedWaits.get(i);
+        }
+        return buckets;
+    }
+
+    /**
+     * 按当前实例的位布局拆解ID
+     *
+     * @param id ID
+     * @return ID的各个组成部分
+     */
+    public Decoded decode(long id) {
+        long timestamp  = startTimestamp + (id >>> timestampLeft) * unitMillis;
+        long dataCenter = id >>> (geneBit + sequenceBit + workerBit) & ~(-1L << dataCenterBit);
+        long worker     = id >>> (geneBit + sequenceBit) & ~(-1L << workerBit);
+        return new Decoded(timestamp, dataCenter, worker, id >>> geneBit & maxSequence, id & maxGene);
+    }
+
+    /**
+     * 指定时间(所在的时间戳单位内)可能生成的最小ID, 与{@link #maxIdAt(long)}配合将时间范围查询转换为主键范围查询
+     * <pre>
+     *     id BETWEEN minIdAt(from) AND maxIdAt(to)
+     * </pre>
+     * 早于起始时间戳或超出时间戳位数的时间将被截断到可表示的范围内
+     *
+     * @param epochMillis 时间(毫秒)
+     * @return 最小ID
+     */
+    public long minIdAt(long epochMillis) {
+        return toTick(epochMillis) << timestampLeft;
+    }
+
+    /**
+     * 指定时间(所在的时间戳单位内)可能生成的最大ID
+     *
+     * @param epochMillis 时间(毫秒)
+     * @return 最大ID
+     * @see #minIdAt(long)
+     */
+    public long maxIdAt(long epochMillis) {
+        return toTick(epochMillis) << timestampLeft | ~(-1L << timestampLeft);
+    }
+
+    /**
+     * 预留序列号并组装ID, 预留的数量参见{@link #reserved(long, int)}
+     *
+     * @param count 期望预留的序列号数量
+     * @param gene  分片基因
+     * @return 预留的第一个ID
+     */
+    private long reserve(int count, long gene) {
+        if (lockFree) {
+            return doReserve(count, gene);
+        }
+        synchronized (this) {
+            return doReserve(count, gene);
+        }
+    }
+
+    private long doReserve(int count, long gene) {
+        long first = nextState(state, count, clockBackwardsPolicy);
+        if (first >= 0) {
+            return toId(first, node, gene);
+        }
+        // 主时间线发生回拨, 使用备用机器标识的时间线
+        backwardsBackup.increment();
+        return toId(nextState(backupState, count, ClockBackwardsPolicy.THROW), backupNode, gene);
+    }
+
+    /**
+     * 推进时间戳与序列号, 通过CAS将二者作为一个整体更新.
+     * 预留的数量不会超过当前毫秒剩余的序列号
+     *
+     * @param state  状态
+     * @param count  期望预留的序列号数量
+     * @param policy 时钟回拨时的处理策略
+     * @return 预留的第一个序列号对应的状态, 需要切换到备用机器标识时返回-1
+     */
+    private long nextState(AtomicLong state, int count, ClockBackwardsPolicy policy) {
+        for (; ; ) {
+            long    last          = state.get();
+            long    lastTimestamp = last >> sequenceBit;
+            long    current       = getCurrentTimestamp();
+            boolean borrowed      = false;
+            if (current < lastTimestamp) {
+                long backwards = lastTimestamp - current;
+                if (ClockBackwardsPolicy.BACKUP_WORKER.equals(policy)) {
+                    return -1L;
+                }
+                if (backwards > maxBackwards || ClockBackwardsPolicy.THROW.equals(policy)) {
+                    backwardsThrow.increment();
+                    throw new RuntimeException("Clock moved backwards " + backwards * unitMillis + "ms. Generated ID may be duplicate!");
+                }
+                if (ClockBackwardsPolicy.WAIT.equals(policy)) {
+                    backwardsWait.increment();
+                    current = waitUntilAfter(lastTimestamp - 1);
+                } else {
+                    borrowed = true;
+                    current = lastTimestamp;
+                }
+            }
+            long first;
+            if (current == lastTimestamp) {
+                // 相同毫秒内，序列号自增
+                if ((last & maxSequence) == maxSequence) {
+                    // 同一毫秒的序列数已经达到最大, 逻辑时钟直接推进, 否则阻塞到下一个毫秒,获得新的时间戳
+                    first = (borrowed ? lastTimestamp + 1 : waitNextTick(lastTimestamp)) << sequenceBit;
+                } else {
+                    first = last + 1;
+                }
+            } else {
+                // 不同毫秒内，序列号置为0
+                first = current << sequenceBit;
+            }
+            if (first >>> sequenceBit > maxTimestamp) {
+                throw new RuntimeException("Timestamp exceeds " + timestampBit + " bits. Start timestamp should be adjusted!");
+            }
+            if (state.compareAndSet(last, first + reserved(first, count) - 1)) {
+                if (borrowed) {
+                    backwardsBorrow.increment();
+                }
+                return first;
             }
-        } else {
-            // 不同毫秒内，序列号置为0
-            sequence = 0L;
         }
-        lastTimestamp = current;
+    }
+
+    /**
+     * 从指定状态(或去掉基因位的ID)开始, 当前毫秒内实际可预留的序列号数量
+     */
+    private int reserved(long first, int count) {
+        return (int) Math.min(count, maxSequence + 1 - (first & maxSequence));
+    }
+
+    private long toId(long state, long node, long gene) {
         // @formatter:off
         // 移位并通过或运算拼到一起组成64位的ID
-        return (current - startTimestamp) << TIMESTAMP_LEFT    // 时间戳部分
-                | dataCenterId             << DATA_CENTER_LEFT // 数据中心部分
-                | workerId                 << WORKER_LEFT      // 机器标识部分
-                | sequence;                                    // 序列号部分
+        return (state >>> sequenceBit) << timestampLeft // 时间戳部分
+                | node                                  // 数据中心与机器标识部分
+                | (state & maxSequence) << geneBit      // 序列号部分
+                | gene;                                 // 分片基因部分
         // @formatter:on
     }
 
-    private long getNextMill() {
-        long mill = getCurrentTimestamp();
-        while (mill <= lastTimestamp) {
-            mill = getCurrentTimestamp();
+    /**
+     * 序列号耗尽, 等待进入下一个时间戳单位并记录等待时长
+     */
+    private long waitNextTick(long lastTimestamp) {
+        exhausted.increment();
+        long begin   = System.nanoTime();
+        long current = waitUntilAfter(lastTimestamp);
+        long elapsed = System.nanoTime() - begin;
+        exhaustedNanos.add(elapsed);
+        long micros = elapsed / 1000L;
+        exhaustedWaits.incrementAndGet(Math.min(64 - Long.numberOfLeadingZeros(micros), WAIT_HISTOGRAM_BUCKETS - 1));
+        return current;
+    }
+
+    /**
+     * 按等待策略等待, 直至时钟超过指定时间戳
+     */
+    private long waitUntilAfter(long lastTimestamp) {
+        long current = getCurrentTimestamp();
+        long next    = startTimestamp + (lastTimestamp + 1) * unitMillis;
+        for (int attempt = 0; current <= lastTimestamp; attempt++) {
+            waitStrategy.await(attempt, Math.max(0L, next - timeSource.currentTimeMillis()));
+            current = getCurrentTimestamp();
         }
-        return mill;
+        return current;
+    }
+
+    private long toTick(long epochMillis) {
+        long tick = Math.floorDiv(epochMillis - startTimestamp, unitMillis);
+        return Math.min(Math.max(tick, 0L), maxTimestamp);
     }
 
+    /**
+     * @return 相对起始时间戳的当前时间, 以{@link #timestampUnit}为单位
+     */
     private long getCurrentTimestamp() {
-        return System.currentTimeMillis();
+        long elapsed = timeSource.currentTimeMillis() - startTimestamp;
+        return unitMillis == 1L ? elapsed : elapsed / unitMillis;
+    }
+
+    /**
+     * ID的组成部分
+     */
+    @Getter
+    public static final class Decoded {
+
+        /**
+         * 时间戳(毫秒), 精度为实例的时间戳单位
+         */
+        private final long timestamp;
+        private final long dataCenterId;
+        private final long workerId;
+        private final long sequence;
+        /**
+         * 分片基因, 未保留基因位时为0
+         */
+        private final long gene;
+
+        private Decoded(long timestamp, long dataCenterId, long workerId, long sequence, long gene) {
+            this.timestamp = timestamp;
+            this.dataCenterId = dataCenterId;
+            this.workerId = workerId;
+            this.sequence = sequence;
+            this.gene = gene;
+        }
+
+        @Override
+        public String toString() {
+            return "Timestamp: [" + timestamp + "], DatacenterId: [" + dataCenterId + "], WorkerId: [" + workerId + "], Sequence: [" + sequence + "], Gene: [" + gene + "]";
+        }
+
+    }
+
+    public static class Builder {
+
+        private long                 startTimestamp       = 0L;
+        private long                 dataCenterId         = 0L;
+        private long                 workerId             = 0L;
+        private TimestampUnit        timestampUnit        = TimestampUnit.MILLISECONDS;
+        private int                  timestampBit         = DEFAULT_TIMESTAMP_BIT;
+        private int                  dataCenterBit        = DEFAULT_DATA_CENTER_BIT;
+        private int                  workerBit            = DEFAULT_WORKER_BIT;
+        private int                  sequenceBit          = DEFAULT_SEQUENCE_BIT;
+        private int                  geneBit              = 0;
+        private boolean              lockFree             = false;
+        private ClockBackwardsPolicy clockBackwardsPolicy = ClockBackwardsPolicy.THROW;
+        private long                 maxBackwardsMillis   = DEFAULT_MAX_BACKWARDS_MILLIS;
+        private WaitStrategy         waitStrategy         = WaitStrategy.Standard.SPIN;
+        private TimeSource           timeSource           = TimeSource.Standard.SYSTEM;
+
+        public Builder() {
+
+        }
+
+        /**
+         * 起始的时间戳(毫秒)
+         */
+        public Builder startTimestamp(long startTimestamp) {
+            this.startTimestamp = startTimestamp;
+            return this;
+        }
+
+        public Builder dataCenterId(long dataCenterId) {
+            this.dataCenterId = dataCenterId;
+            return this;
+        }
+
+        public Builder workerId(long workerId) {
+            this.workerId = workerId;
+            return this;
+        }
+
+        /**
+         * 时间戳单位, 单位越大可用年限越长, 但每个单位内可生成的ID数量不变
+         */
+        public Builder timestampUnit(TimestampUnit timestampUnit) {
+            this.timestampUnit = timestampUnit;
+            return this;
+        }
+
+        public Builder timestampBit(int timestampBit) {
+            this.timestampBit = timestampBit;
+            return this;
+        }
+
+        public Builder dataCenterBit(int dataCenterBit) {
+            this.dataCenterBit = dataCenterBit;
+            return this;
+        }
+
+        public Builder workerBit(int workerBit) {
+            this.workerBit = workerBit;
+            return this;
+        }
+
+        /**
+         * 不区分数据中心, 节点标识全部用作机器标识
+         *
+         * @param nodeBit 节点标识占用的位数
+         */
+        public Builder nodeBit(int nodeBit) {
+            this.dataCenterBit = 0;
+            this.workerBit = nodeBit;
+            return this;
+        }
+
+        public Builder sequenceBit(int sequenceBit) {
+            this.sequenceBit = sequenceBit;
+            return this;
+        }
+
+        /**
+         * 在ID最低位保留的分片基因位数, 默认不保留. 基因位从其它部分中划出, 例如
+         * {@code timestampBit(41).nodeBit(10).sequenceBit(8).geneBit(4)} 支持16个分片, 每个时间戳单位内可生成256个ID
+         *
+         * @param geneBit 分片基因占用的位数
+         * @see SnowFlake#nextId(long)
+         */
+        public Builder geneBit(int geneBit) {
+            this.geneBit = geneBit;
+            return this;
+        }
+
+        public Builder lockFree(boolean lockFree) {
+            this.lockFree = lockFree;
+            return this;
+        }
+
+        public Builder clockBackwardsPolicy(ClockBackwardsPolicy clockBackwardsPolicy) {
+            this.clockBackwardsPolicy = clockBackwardsPolicy;
+            return this;
+        }
+
+        public Builder maxBackwardsMillis(long maxBackwardsMillis) {
+            this.maxBackwardsMillis = maxBackwardsMillis;
+            return this;
+        }
+
+        /**
+         * 序列号耗尽或时钟回拨后等待时钟的策略, 默认为忙等待
+         */
+        public Builder waitStrategy(WaitStrategy waitStrategy) {
+            this.waitStrategy = waitStrategy;
+            return this;
+        }
+
+        /**
+         * 时钟, 默认为系统时钟
+         */
+        public Builder timeSource(TimeSource timeSource) {
+            this.timeSource = timeSource;
+            return this;
+        }
+
+        public SnowFlake build() {
+            return new SnowFlake(this);
+        }
+
     }
 
 }
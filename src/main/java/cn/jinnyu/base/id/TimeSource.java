@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.id;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ID生成器使用的时钟
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+@FunctionalInterface
+public interface TimeSource {
+
+    /**
+     * @return 当前时间(毫秒), 语义同{@link System#currentTimeMillis()}
+     */
+    long currentTimeMillis();
+
+    /**
+     * 内置的时钟
+     */
+    enum Standard implements TimeSource {
+        /**
+         * 每次调用{@link System#currentTimeMillis()}
+         */
+        SYSTEM {
+            @Override
+            public long currentTimeMillis() {
+                return System.currentTimeMillis();
+            }
+        },
+        /**
+         * 由一个守护线程每毫秒更新的缓存时钟, 读取只是一次volatile读, 但可能比系统时钟落后约1毫秒.
+         * 更新线程在首次使用时启动
+         */
+        CACHED {
+            @Override
+            public long currentTimeMillis() {
+                return CachedClock.now;
+            }
+        };
+
+        /**
+         * {@link #CACHED}的更新线程, 首次访问时启动
+         */
+        private static final class CachedClock {
+
+            private static final long    TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+            private static volatile long now        = System.currentTimeMillis();
+
+            static {
+                Thread ticker = new Thread(() -> {
+                    while (true) {
+                        LockSupport.parkNanos(TICK_NANOS);
+                        now = System.currentTimeMillis();
+                    }
+                }, "cached-time-source");
+                ticker.setDaemon(true);
+                ticker.start();
+            }
+
+            private CachedClock() {
+            }
+
+        }
+    }
+
+    /**
+     * 手动设置时间的时钟, 用于测试
+     * <p>
+     * 时间只在调用{@link #set(long)}或{@link #advance(long)}时变化. 雪花算法在序列号耗尽或时钟回拨时会等待时钟前进,
+     * 此时需要由其它线程推进时间.
+     * </p>
+     */
+    final class Manual implements TimeSource {
+
+        private final AtomicLong millis;
+
+        public Manual(long millis) {
+            this.millis = new AtomicLong(millis);
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return millis.get();
+        }
+
+        /**
+         * 设置当前时间, 可以向前或向后设置
+         */
+        public void set(long millis) {
+            this.millis.set(millis);
+        }
+
+        /**
+         * 推进时间
+         *
+         * @param deltaMillis 推进的毫秒数, 可以为负数
+         * @return 推进后的时间
+         */
+        public long advance(long deltaMillis) {
+            return millis.addAndGet(deltaMillis);
+        }
+
+    }
+
+}
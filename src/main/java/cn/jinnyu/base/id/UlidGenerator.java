@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.id;
+
+import cn.jinnyu.base.random.ThreadLocalEntropy;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * ULID (<a href="https://github.com/ulid/spec">Universally Unique Lexicographically Sortable Identifier</a>) 生成器
+ * <pre>
+ *     48位毫秒时间戳 | 80位随机数
+ * </pre>
+ * 二进制形式为两个long (高64位/低64位), 字符串形式为26位 Crockford Base32.
+ * <p>
+ * 单调模式下, 同一毫秒(或时钟回拨)内生成的ID在上一个ID的基础上加1, 保证同一生成器产生的ID严格递增;
+ * 随机部分溢出时进位到时间戳.
+ * </p>
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+public final class UlidGenerator {
+
+    /**
+     * 字符串形式的长度
+     */
+    public static final  int    STRING_LENGTH = 26;
+    // @formatter:off
+    private static final char[] ENCODING      = {
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9',
+            'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H', 'J', 'K', 'M', 'N', 'P', 'Q', 'R', 'S', 'T', 'V', 'W', 'X', 'Y', 'Z'
+    };
+    // @formatter:on
+    private static final byte[] DECODING      = new byte[128];
+
+    @Getter
+    private final boolean monotonic;
+    private       long    lastMsb;
+    private       long    lastLsb;
+
+    static {
+        Arrays.fill(DECODING, (byte) -1);
+        for (int i = 0; i < ENCODING.length; i++) {
+            DECODING[ENCODING[i]] = (byte) i;
+            DECODING[Character.toLowerCase(ENCODING[i])] = (byte) i;
+        }
+        // Crockford Base32 容错字符
+        DECODING['I'] = DECODING['i'] = DECODING['L'] = DECODING['l'] = 1;
+        DECODING['O'] = DECODING['o'] = 0;
+    }
+
+    public UlidGenerator() {
+        this(true);
+    }
+
+    /**
+     * @param monotonic 是否使用单调模式
+     */
+    public UlidGenerator(boolean monotonic) {
+        this.monotonic = monotonic;
+    }
+
+    /**
+     * 产生下一个ID并以二进制形式写入目标数组
+     *
+     * @param dst    目标数组, 依次写入高64位与低64位
+     * @param offset 写入的起始位置
+     */
+    public void next(long[] dst, int offset) {
+        if (offset < 0 || offset > dst.length - 2) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", array length: " + dst.length);
+        }
+        long               timestamp = System.currentTimeMillis();
+        ThreadLocalEntropy entropy   = ThreadLocalEntropy.current();
+        long               msb;
+        long               lsb;
+        if (monotonic) {
+            synchronized (this) {
+                if (timestamp <= lastMsb >>> 16) {
+                    lsb = lastLsb + 1;
+                    msb = lsb == 0L ? lastMsb + 1 : lastMsb;
+                } else {
+                    msb = timestamp << 16 | entropy.nextInt() & 0xFFFFL;
+                    lsb = entropy.nextLong();
+                }
+                lastMsb = msb;
+                lastLsb = lsb;
+            }
+        } else {
+            msb = timestamp << 16 | entropy.nextInt() & 0xFFFFL;
+            lsb = entropy.nextLong();
+        }
+        dst[offset] = msb;
+        dst[offset + 1] = lsb;
+    }
+
+    /**
+     * 产生下一个ID的字符串形式
+     */
+    public String nextString() {
+        long[] value = new long[2];
+        next(value, 0);
+        return toString(value[0], value[1]);
+    }
+
+    /**
+     * @param msb 高64位
+     * @return ID中的毫秒时间戳
+     */
+    public static long getTimestamp(long msb) {
+        return msb >>> 16;
+    }
+
+    /**
+     * 转换为26位 Crockford Base32 字符串
+     *
+     * @param msb 高64位
+     * @param lsb 低64位
+     * @return 字符串形式
+     */
+    public static String toString(long msb, long lsb) {
+        char[] chars = new char[STRING_LENGTH];
+        writeString(msb, lsb, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * 将26位 Crockford Base32 字符串写入目标数组
+     *
+     * @param msb    高64位
+     * @param lsb    低64位
+     * @param dst    目标数组
+     * @param offset 写入的起始位置
+     */
+    public static void writeString(long msb, long lsb, char[] dst, int offset) {
+        if (offset < 0 || offset > dst.length - STRING_LENGTH) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", array length: " + dst.length);
+        }
+        // 第一个字符只包含最高3位, 之后每个字符5位
+        for (int i = 0; i < STRING_LENGTH; i++) {
+            int shift = (STRING_LENGTH - 1 - i) * 5;
+            int index;
+            if (shift >= 64) {
+                index = (int) (msb >>> (shift - 64));
+            } else if (shift > 59) {
+                index = (int) (lsb >>> shift | msb << (64 - shift));
+            } else {
+                index = (int) (lsb >>> shift);
+            }
+            dst[offset + i] = ENCODING[index & 0x1F];
+        }
+    }
+
+    /**
+     * 解析26位 Crockford Base32 字符串, 不合法时不抛出异常
+     *
+     * @param chars  字符串
+     * @param dst    目标数组, 依次写入高64位与低64位
+     * @param offset 写入的起始位置
+     * @return 是否解析成功
+     */
+    public static boolean tryParse(CharSequence chars, long[] dst, int offset) {
+        if (chars == null || chars.length() != STRING_LENGTH || offset < 0 || offset > dst.length - 2) {
+            return false;
+        }
+        long msb     = 0L;
+        long lsb     = 0L;
+        int  invalid = 0;
+        for (int i = 0; i < STRING_LENGTH; i++) {
+            char c = chars.charAt(i);
+            int  v = c < 128 ? DECODING[c] : -1;
+            invalid |= v;
+            msb = msb << 5 | lsb >>> 59;
+            lsb = lsb << 5 | v & 0x1F;
+        }
+        // 首字符超过7时会溢出128位
+        if (invalid < 0 || DECODING[chars.charAt(0)] > 7) {
+            return false;
+        }
+        dst[offset] = msb;
+        dst[offset + 1] = lsb;
+        return true;
+    }
+
+}
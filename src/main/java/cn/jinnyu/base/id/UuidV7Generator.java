@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.id;
+
+import cn.jinnyu.base.random.ThreadLocalEntropy;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * UUID version 7 (<a href="https://www.rfc-editor.org/rfc/rfc9562#name-uuid-version-7">RFC 9562</a>) 生成器
+ * <pre>
+ *     48位毫秒时间戳 | 4位版本号(0111) | 12位随机数 rand_a | 2位变体(10) | 62位随机数 rand_b
+ * </pre>
+ * 二进制形式为两个long (高64位/低64位), 字符串形式为标准的36位UUID格式.
+ * <p>
+ * 单调模式下, 同一毫秒(或时钟回拨)内生成的ID在上一个ID的基础上加1 (rand_b 溢出时进位到 rand_a, 再进位到时间戳),
+ * 保证同一生成器产生的ID严格递增.
+ * </p>
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+public final class UuidV7Generator {
+
+    /**
+     * 字符串形式的长度
+     */
+    public static final  int    STRING_LENGTH = 36;
+    private static final long   VERSION       = 0x7000L;
+    private static final long   VARIANT       = 0x8000000000000000L;
+    private static final long   RAND_A_MASK   = 0x0FFFL;
+    private static final long   RAND_B_MASK   = 0x3FFFFFFFFFFFFFFFL;
+    private static final char[] HEX_CHARS     = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
+
+    @Getter
+    private final boolean monotonic;
+    private       long    lastMsb;
+    private       long    lastLsb;
+
+    public UuidV7Generator() {
+        this(true);
+    }
+
+    /**
+     * @param monotonic 是否使用单调模式
+     */
+    public UuidV7Generator(boolean monotonic) {
+        this.monotonic = monotonic;
+    }
+
+    /**
+     * 产生下一个ID并以二进制形式写入目标数组
+     *
+     * @param dst    目标数组, 依次写入高64位与低64位
+     * @param offset 写入的起始位置
+     */
+    public void next(long[] dst, int offset) {
+        if (offset < 0 || offset > dst.length - 2) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", array length: " + dst.length);
+        }
+        long               timestamp = System.currentTimeMillis();
+        ThreadLocalEntropy entropy   = ThreadLocalEntropy.current();
+        long               msb;
+        long               lsb;
+        if (monotonic) {
+            synchronized (this) {
+                if (timestamp <= lastMsb >>> 16) {
+                    long randB = (lastLsb & RAND_B_MASK) + 1;
+                    msb = lastMsb;
+                    if (randB > RAND_B_MASK) {
+                        randB = 0L;
+                        long randA = (msb & RAND_A_MASK) + 1;
+                        msb = randA > RAND_A_MASK ? ((msb >>> 16) + 1) << 16 | VERSION : msb & ~RAND_A_MASK | randA;
+                    }
+                    lsb = VARIANT | randB;
+                } else {
+                    msb = timestamp << 16 | VERSION | entropy.nextInt() & RAND_A_MASK;
+                    lsb = VARIANT | entropy.nextLong() & RAND_B_MASK;
+                }
+                lastMsb = msb;
+                lastLsb = lsb;
+            }
+        } else {
+            msb = timestamp << 16 | VERSION | entropy.nextInt() & RAND_A_MASK;
+            lsb = VARIANT | entropy.nextLong() & RAND_B_MASK;
+        }
+        dst[offset] = msb;
+        dst[offset + 1] = lsb;
+    }
+
+    /**
+     * 产生下一个ID
+     */
+    public UUID next() {
+        long[] value = new long[2];
+        next(value, 0);
+        return new UUID(value[0], value[1]);
+    }
+
+    /**
+     * 产生下一个ID的字符串形式
+     */
+    public String nextString() {
+        long[] value = new long[2];
+        next(value, 0);
+        return toString(value[0], value[1]);
+    }
+
+    /**
+     * @param msb 高64位
+     * @return ID中的毫秒时间戳
+     */
+    public static long getTimestamp(long msb) {
+        return msb >>> 16;
+    }
+
+    /**
+     * 转换为36位标准UUID字符串 (小写)
+     *
+     * @param msb 高64位
+     * @param lsb 低64位
+     * @return 字符串形式
+     */
+    public static String toString(long msb, long lsb) {
+        char[] chars = new char[STRING_LENGTH];
+        writeString(msb, lsb, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * 将36位标准UUID字符串写入目标数组
+     *
+     * @param msb    高64位
+     * @param lsb    低64位
+     * @param dst    目标数组
+     * @param offset 写入的起始位置
+     */
+    public static void writeString(long msb, long lsb, char[] dst, int offset) {
+        if (offset < 0 || offset > dst.length - STRING_LENGTH) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", array length: " + dst.length);
+        }
+        writeHex(msb >>> 32, 8, dst, offset);
+        dst[offset + 8] = '-';
+        writeHex(msb >>> 16, 4, dst, offset + 9);
+        dst[offset + 13] = '-';
+        writeHex(msb, 4, dst, offset + 14);
+        dst[offset + 18] = '-';
+        writeHex(lsb >>> 48, 4, dst, offset + 19);
+        dst[offset + 23] = '-';
+        writeHex(lsb, 12, dst, offset + 24);
+    }
+
+    private static void writeHex(long value, int digits, char[] dst, int offset) {
+        for (int i = digits - 1; i >= 0; i--) {
+            dst[offset + i] = HEX_CHARS[(int) value & 0xF];
+            value >>>= 4;
+        }
+    }
+
+}
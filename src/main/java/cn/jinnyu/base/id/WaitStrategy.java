@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.id;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 等待时钟进入下一个时间戳单位时的等待策略
+ * <p>
+ * 用于雪花算法序列号耗尽或时钟回拨后等待时钟追上的场景, 每次调用后重新读取时钟.
+ * </p>
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+@FunctionalInterface
+public interface WaitStrategy {
+
+    /**
+     * 等待一次
+     *
+     * @param attempt         本次等待中已调用的次数, 从0开始
+     * @param remainingMillis 距离下一个时间戳单位的估计剩余毫秒数(向上取整)
+     */
+    void await(int attempt, long remainingMillis);
+
+    /**
+     * 内置的等待策略
+     */
+    enum Standard implements WaitStrategy {
+        /**
+         * 忙等待, 延迟最低, 但等待期间占满一个CPU核心
+         */
+        SPIN {
+            @Override
+            public void await(int attempt, long remainingMillis) {
+            }
+        },
+        /**
+         * 先以{@code Thread.onSpinWait}自旋, 再让出CPU, 最后短暂休眠
+         */
+        BACKOFF {
+            @Override
+            public void await(int attempt, long remainingMillis) {
+                if (attempt < SPIN_TRIES) {
+                    onSpinWait();
+                } else if (attempt < SPIN_TRIES + YIELD_TRIES) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(BACKOFF_PARK_NANOS);
+                }
+            }
+        },
+        /**
+         * 让出CPU
+         */
+        YIELD {
+            @Override
+            public void await(int attempt, long remainingMillis) {
+                Thread.yield();
+            }
+        },
+        /**
+         * 休眠到下一个时间戳单位
+         */
+        PARK {
+            @Override
+            public void await(int attempt, long remainingMillis) {
+                LockSupport.parkNanos(remainingMillis > 1 ? TimeUnit.MILLISECONDS.toNanos(remainingMillis - 1) : BACKOFF_PARK_NANOS);
+            }
+        };
+
+        private static final int          SPIN_TRIES         = 100;
+        private static final int          YIELD_TRIES        = 100;
+        private static final long         BACKOFF_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+        /**
+         * Java 9+ 的 {@code Thread.onSpinWait()}, Java 8 下为空
+         */
+        private static final MethodHandle ON_SPIN_WAIT;
+
+        static {
+            MethodHandle handle;
+            try {
+                handle = MethodHandles.lookup().findStatic(Thread.class, "onSpinWait", MethodType.methodType(void.class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                handle = null;
+            }
+            ON_SPIN_WAIT = handle;
+        }
+
+        private static void onSpinWait() {
+            if (ON_SPIN_WAIT != null) {
+                try {
+                    ON_SPIN_WAIT.invokeExact();
+                } catch (Throwable ignored) {
+                    // onSpinWait 不会抛出异常
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.id;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于本地租约文件的机器标识分配器
+ * <p>
+ * 在共享的本地目录中为每个机器标识建立一个槽位文件, 通过独占的{@link FileLock}声明一个空闲槽位.
+ * 持有期间定时写入心跳时间戳, 进程退出(包括异常退出)时操作系统自动释放文件锁, 槽位可被其它进程重新声明.
+ * 同一主机上的多个进程因此无需协调服务即可获得互不相同的机器标识.
+ * </p>
+ * <p>
+ * 同一JVM中的多个分配器 (包括不同类加载器加载的) 同样获得不同的槽位. 由于关闭文件的任意描述符会释放本进程在该文件上的全部锁,
+ * 分配器不会打开或关闭本JVM已锁定的槽位文件.
+ * </p>
+ * <p>
+ * 槽位文件中记录最后一次心跳时间与租约有效期: 持有期间为心跳间隔, 正常释放时为0. 上一个持有者异常退出时可能在最后一次心跳后
+ * 的一个心跳间隔内仍在生成ID, 因此只有当前时间不早于 心跳时间 + 有效期 时槽位才可被重新声明.
+ * 未过期或内容不完整的槽位会被跳过 (包括上一个持有者退出后时钟发生了回拨的情况), 避免与上一个持有者生成的ID重复.
+ * </p>
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+@Slf4j
+public final class WorkerIdAllocator implements Closeable {
+
+    /**
+     * 默认心跳间隔(毫秒)
+     */
+    public static final long DEFAULT_HEARTBEAT_MILLIS = 3000L;
+
+    /**
+     * 槽位文件的内容: 心跳时间 + 租约有效期
+     */
+    private static final int                    LEASE_BYTES   = Long.BYTES * 2;
+    /**
+     * 当前类加载器中的分配器持有的槽位文件. 关闭同一文件的任意描述符都会释放本进程在该文件上的全部POSIX锁,
+     * 因此已持有的槽位不能再打开探测
+     */
+    private static final Set<Path>              HELD_SLOTS    = ConcurrentHashMap.newKeySet();
+    /**
+     * 被同一JVM中其它类加载器的分配器锁定的槽位, 对应的通道保持打开 (关闭会释放对方的锁), 下次分配时复用该通道重新尝试
+     */
+    private static final Map<Path, FileChannel> FOREIGN_SLOTS = new ConcurrentHashMap<>();
+
+    @Getter
+    private final Path                     directory;
+    private final Path                     slot;
+    /**
+     * 声明到的机器标识
+     */
+    @Getter
+    private final long                     workerId;
+    private final FileChannel              channel;
+    private final FileLock                 lock;
+    private final long                     heartbeatMillis;
+    private final ByteBuffer               buffer = ByteBuffer.allocate(LEASE_BYTES);
+    private final ScheduledExecutorService heartbeat;
+    private final Thread                   shutdownHook;
+    private volatile boolean               closed;
+
+    public WorkerIdAllocator(Path directory, long maxWorkerId) {
+        this(directory, maxWorkerId, DEFAULT_HEARTBEAT_MILLIS);
+    }
+
+    /**
+     * @param directory       槽位文件所在目录, 需要协调的进程使用同一目录
+     * @param maxWorkerId     可分配的最大机器标识 (包含)
+     * @param heartbeatMillis 心跳间隔(毫秒)
+     * @throws IllegalStateException 没有空闲槽位时抛出
+     */
+    public WorkerIdAllocator(Path directory, long maxWorkerId, long heartbeatMillis) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory can't be null");
+        }
+        if (maxWorkerId < 0) {
+            throw new IllegalArgumentException("MaxWorkerId can't be less than 0");
+        }
+        if (heartbeatMillis <= 0) {
+            throw new IllegalArgumentException("HeartbeatMillis must be greater than 0");
+        }
+        this.directory = directory;
+        this.heartbeatMillis = heartbeatMillis;
+        Path directoryPath;
+        try {
+            Files.createDirectories(directory);
+            directoryPath = directory.toRealPath();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        FileChannel claimedChannel = null;
+        FileLock    claimedLock    = null;
+        Path        claimedSlot    = null;
+        long        claimedId      = -1L;
+        for (long id = 0; id <= maxWorkerId && claimedLock == null; id++) {
+            Path slot = directoryPath.resolve("worker-" + id + ".lease");
+            if (!HELD_SLOTS.add(slot)) {
+                // 当前类加载器中的其它分配器持有该槽位
+                continue;
+            }
+            FileChannel candidate = FOREIGN_SLOTS.remove(slot);
+            FileLock    candidateLock;
+            try {
+                if (candidate == null) {
+                    candidate = FileChannel.open(slot, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                }
+                candidateLock = candidate.tryLock();
+            } catch (OverlappingFileLockException e) {
+                // 同一JVM中其它类加载器的分配器持有该槽位, 关闭通道会释放它的锁, 因此保留通道供之后再次尝试
+                FOREIGN_SLOTS.put(slot, candidate);
+                HELD_SLOTS.remove(slot);
+                continue;
+            } catch (IOException e) {
+                log.warn("Claim worker id [{}] in [{}] failed", id, directory, e);
+                // 无法确定其它类加载器是否仍持有锁, 保留通道而不是关闭
+                if (candidate != null) {
+                    FOREIGN_SLOTS.put(slot, candidate);
+                }
+                HELD_SLOTS.remove(slot);
+                continue;
+            }
+            if (candidateLock != null && isExpired(candidate, id)) {
+                claimedChannel = candidate;
+                claimedLock = candidateLock;
+                claimedSlot = slot;
+                claimedId = id;
+            } else {
+                // 未加锁 (其它进程持有) 或由本分配器加锁, 此时本JVM中没有其它锁, 可以安全关闭
+                closeQuietly(candidate);
+                HELD_SLOTS.remove(slot);
+            }
+        }
+        if (claimedLock == null) {
+            throw new IllegalStateException("No free worker id in [" + directory + "], max worker id: " + maxWorkerId);
+        }
+        this.slot = claimedSlot;
+        this.channel = claimedChannel;
+        this.lock = claimedLock;
+        this.workerId = claimedId;
+        renew();
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "worker-id-heartbeat-" + workerId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat.scheduleAtFixedRate(this::renew, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        this.shutdownHook = new Thread(this::release, "worker-id-release-" + workerId);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        log.info("Claimed worker id [{}] in [{}]", workerId, directory);
+    }
+
+    /**
+     * 释放机器标识, 释放后不能再使用该机器标识生成ID
+     */
+    @Override
+    public void close() {
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException ignored) {
+            // 正在关闭JVM, 由钩子释放
+        }
+        release();
+    }
+
+    private synchronized void release() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        heartbeat.shutdownNow();
+        try {
+            // 保留最后的心跳时间, 供下一个持有者检查时钟回拨. 释放后不再生成ID, 有效期为0
+            write(0L);
+            lock.release();
+        } catch (IOException e) {
+            log.warn("Release worker id [{}] in [{}] failed", workerId, directory, e);
+        } finally {
+            closeQuietly(channel);
+            HELD_SLOTS.remove(slot);
+        }
+        log.info("Released worker id [{}] in [{}]", workerId, directory);
+    }
+
+    private synchronized void renew() {
+        if (closed) {
+            return;
+        }
+        try {
+            renewUnsafe();
+        } catch (IOException e) {
+            log.error("Renew worker id [{}] in [{}] failed", workerId, directory, e);
+        }
+    }
+
+    private void renewUnsafe() throws IOException {
+        write(heartbeatMillis);
+    }
+
+    private void write(long validMillis) throws IOException {
+        buffer.clear();
+        buffer.putLong(System.currentTimeMillis()).putLong(validMillis).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, buffer.position());
+        }
+        channel.force(false);
+    }
+
+    private boolean isExpired(FileChannel candidate, long id) {
+        try {
+            long leaseEnd = readLeaseEnd(candidate);
+            if (leaseEnd == Long.MAX_VALUE) {
+                log.warn("Lease of worker id [{}] in [{}] is incomplete, skipped", id, directory);
+            }
+            return leaseEnd <= System.currentTimeMillis();
+        } catch (IOException e) {
+            log.warn("Read heartbeat of worker id [{}] in [{}] failed", id, directory, e);
+            return false;
+        }
+    }
+
+    /**
+     * @return 租约的结束时间, 即上一个持有者可能生成ID的最晚时间. 空文件 (从未被持有) 返回0,
+     * 内容不完整的文件无法判断上一个持有者的状态, 视为未过期
+     */
+    private static long readLeaseEnd(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return 0L;
+        }
+        if (size < LEASE_BYTES) {
+            return Long.MAX_VALUE;
+        }
+        ByteBuffer lease = ByteBuffer.allocate(LEASE_BYTES);
+        while (lease.hasRemaining()) {
+            if (channel.read(lease, lease.position()) < 0) {
+                return Long.MAX_VALUE;
+            }
+        }
+        lease.flip();
+        long heartbeat   = lease.getLong();
+        long validMillis = lease.getLong();
+        if (validMillis < 0 || heartbeat > Long.MAX_VALUE - validMillis) {
+            return Long.MAX_VALUE;
+        }
+        return heartbeat + validMillis;
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // ignored
+            }
+        }
+    }
+
+}
@@ -31,6 +31,11 @@ public enum RandomKit {
     private static final SecureRandom RANDOM;
     private static final String       BASE_INT    = "0123456789";
     private static final String       BASE_LETTER = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz" + BASE_INT;
+    private static final char[]       LETTERS     = BASE_LETTER.toCharArray();
+    /**
+     * 取随机字节的低6位 (0~63), 大于等于62的值被拒绝后重新抽取, 保证各字符等概率
+     */
+    private static final int          LETTER_MASK = 0x3F;
 
     static {
         try {
@@ -53,7 +58,35 @@ public enum RandomKit {
     }
 
     public static String getString(int len) {
-        return IntStream.range(0, len).mapToObj(i -> String.valueOf(BASE_LETTER.charAt(RANDOM.nextInt(62)))).collect(Collectors.joining());
+        if (len <= 0) {
+            return "";
+        }
+        char[] chars = new char[len];
+        fillString(chars, 0, len);
+        return new String(chars);
+    }
+
+    /**
+     * 使用随机的大小写字母与数字填充目标数组
+     * <p>
+     * 随机字节取自当前线程的{@link ThreadLocalEntropy}, 多线程下不会竞争同一个{@link SecureRandom}的锁.
+     * </p>
+     *
+     * @param dst    目标数组
+     * @param offset 起始位置
+     * @param length 数量
+     */
+    public static void fillString(char[] dst, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > dst.length - length) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", length: " + length + ", array length: " + dst.length);
+        }
+        ThreadLocalEntropy entropy = ThreadLocalEntropy.current();
+        for (int i = offset, end = offset + length; i < end; ) {
+            int value = entropy.nextByte() & LETTER_MASK;
+            if (value < LETTERS.length) {
+                dst[i++] = LETTERS[value];
+            }
+        }
     }
 
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.random;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * 线程私有的安全随机数源
+ * <p>
+ * 每个线程持有独立的 SHA1PRNG 实例 (由系统熵源播种) 与字节缓冲区, 批量生成随机字节后按需取用,
+ * 多线程下不会竞争同一个{@link SecureRandom}的锁.
+ * </p>
+ * <p>
+ * 实例只能在所属线程中使用.
+ * </p>
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+public final class ThreadLocalEntropy {
+
+    private static final int                            BUFFER_SIZE = 512;
+    private static final int                            SEED_SIZE   = 32;
+    private static final SecureRandom                   SEEDER      = new SecureRandom();
+    private static final ThreadLocal<ThreadLocalEntropy> LOCAL      = ThreadLocal.withInitial(ThreadLocalEntropy::new);
+
+    private final SecureRandom random;
+    private final byte[]       buffer   = new byte[BUFFER_SIZE];
+    private       int          position = BUFFER_SIZE;
+
+    private ThreadLocalEntropy() {
+        try {
+            random = SecureRandom.getInstance("SHA1PRNG");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        byte[] seed = new byte[SEED_SIZE];
+        SEEDER.nextBytes(seed);
+        random.setSeed(seed);
+    }
+
+    /**
+     * @return 当前线程的随机数源
+     */
+    public static ThreadLocalEntropy current() {
+        return LOCAL.get();
+    }
+
+    /**
+     * @return 随机long
+     */
+    public long nextLong() {
+        if (position > BUFFER_SIZE - Long.BYTES) {
+            refill();
+        }
+        long value = 0L;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = value << 8 | buffer[position++] & 0xFF;
+        }
+        return value;
+    }
+
+    /**
+     * @return 随机int
+     */
+    public int nextInt() {
+        if (position > BUFFER_SIZE - Integer.BYTES) {
+            refill();
+        }
+        int value = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            value = value << 8 | buffer[position++] & 0xFF;
+        }
+        return value;
+    }
+
+    /**
+     * @return 随机字节 (0~255)
+     */
+    public int nextByte() {
+        if (position == BUFFER_SIZE) {
+            refill();
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    /**
+     * 使用随机字节填充目标数组
+     *
+     * @param dst    目标数组
+     * @param offset 起始位置
+     * @param length 数量
+     */
+    public void nextBytes(byte[] dst, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > dst.length - length) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", length: " + length + ", array length: " + dst.length);
+        }
+        while (length > 0) {
+            if (position == BUFFER_SIZE) {
+                refill();
+            }
+            int count = Math.min(length, BUFFER_SIZE - position);
+            System.arraycopy(buffer, position, dst, offset, count);
+            position += count;
+            offset += count;
+            length -= count;
+        }
+    }
+
+    private void refill() {
+        random.nextBytes(buffer);
+        position = 0;
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.codec;
+
+/**
+ * 十六进制编码的批量实现入口 (Java 17+)
+ * <p>
+ * 仅当运行时加载了 {@code jdk.incubator.vector} 模块 (启动参数 {@code --add-modules jdk.incubator.vector})
+ * 且首选向量宽度不小于256位时使用{@link VectorHexKernel}, 否则与 Java 8 版本一样使用{@link TableHexKernel}.
+ * Vector API 相关的代码都在{@link VectorHexKernel}中, 未启用时不会被加载.
+ * </p>
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+final class HexKernel {
+
+    private static final boolean VECTOR = vectorAvailable();
+
+    private HexKernel() {
+    }
+
+    /**
+     * 将byte数组的指定范围编码为十六进制字符, 调用方负责检查边界
+     */
+    static void encode(byte[] src, int offset, int length, char[] dst, int dstOffset, boolean upperCase) {
+        if (VECTOR && length >= VectorHexKernel.MIN_LENGTH) {
+            VectorHexKernel.encode(src, offset, length, dst, dstOffset, upperCase);
+        } else {
+            TableHexKernel.encode(src, offset, length, dst, dstOffset, upperCase);
+        }
+    }
+
+    private static boolean vectorAvailable() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            return VectorHexKernel.isSupported();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+}
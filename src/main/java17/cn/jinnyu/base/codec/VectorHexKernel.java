@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2022, Jinnyu (jinyu@jinnyu.cn).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.jinnyu.base.codec;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * 基于 Vector API 的十六进制编码
+ * <p>
+ * 每次读取8个字节并扩展为8个int通道, 高低半字节分别转换为ASCII后合并为 (高, 低) 两个char, 一次得到16个字符.
+ * JDK 17 的 ShortVector 不能直接写入char数组, 因此先按块写入short缓冲区再复制到目标数组, 复制循环会被JIT自动向量化.
+ * </p>
+ *
+ * @author jinyu@jinnyu.cn
+ * @date 2026-10-17
+ */
+final class VectorHexKernel {
+
+    /**
+     * 低于此长度时向量化的收益不足以抵消缓冲区的开销
+     */
+    static final int MIN_LENGTH = 64;
+
+    private static final VectorSpecies<Byte>    BYTES      = ByteVector.SPECIES_64;
+    private static final VectorSpecies<Integer> INTS       = IntVector.SPECIES_256;
+    private static final int                    STEP       = BYTES.length();
+    private static final int                    CHUNK_SIZE = 512;
+
+    private VectorHexKernel() {
+    }
+
+    static boolean isSupported() {
+        return IntVector.SPECIES_PREFERRED.vectorBitSize() >= INTS.vectorBitSize();
+    }
+
+    static void encode(byte[] src, int offset, int length, char[] dst, int dstOffset, boolean upperCase) {
+        int     letter = (upperCase ? 'A' : 'a') - '9' - 1;
+        short[] buffer = new short[Math.min(length, CHUNK_SIZE) * 2];
+        int     i      = offset;
+        int     j      = dstOffset;
+        for (int end = offset + length - STEP; i <= end; ) {
+            int chunkEnd = Math.min(end, i + CHUNK_SIZE - STEP);
+            int k        = 0;
+            for (; i <= chunkEnd; i += STEP, k += STEP * 2) {
+                IntVector bytes = ((IntVector) ByteVector.fromArray(BYTES, src, i).convertShape(VectorOperators.B2I, INTS, 0)).and(0xFF);
+                IntVector high  = ascii(bytes.lanewise(VectorOperators.LSHR, 4), letter);
+                IntVector low   = ascii(bytes.and(0xF), letter);
+                high.or(low.lanewise(VectorOperators.LSHL, 16)).reinterpretAsShorts().intoArray(buffer, k);
+            }
+            for (int n = 0; n < k; n++) {
+                dst[j++] = (char) buffer[n];
+            }
+        }
+        TableHexKernel.encode(src, i, offset + length - i, dst, j, upperCase);
+    }
+
+    /**
+     * @param nibbles 每个通道一个半字节 (0~15)
+     * @param letter  字母相对 '9' 之后的偏移
+     * @return 每个通道对应的ASCII字符
+     */
+    private static IntVector ascii(IntVector nibbles, int letter) {
+        VectorMask<Integer> isLetter = nibbles.compare(VectorOperators.GT, 9);
+        return nibbles.add('0').add(letter, isLetter);
+    }
+
+}